@@ -0,0 +1,411 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static java.util.stream.Collectors.joining;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+import org.openhab.binding.hue.internal.exceptions.ApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Queue of the state and config updates sent to a bridge, limiting them to the rate the bridge can handle.
+ *
+ * Updates are sent in order, one at a time, paced by a token bucket of {@link #COMMANDS_PER_SECOND} tokens per second.
+ * Light and sensor updates take one token, group updates take {@link #GROUP_COMMAND_COST} tokens, as the bridge
+ * handles about one group command per second.
+ * See https://developers.meethue.com/documentation/hue-system-performance
+ *
+ * An update for a resource that is queued already is merged into the queued update, later values replacing earlier
+ * ones, unless an update queued in between affects the same lights. When all lights of a known group have identical
+ * updates queued, and the group has at least {@link #MIN_PROMOTED_LIGHTS} lights, they are sent as a single group
+ * update. Should the group update fail, the light updates are sent individually.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+final class CommandQueue {
+
+    /**
+     * Rate of light commands the bridge handles
+     */
+    static final int COMMANDS_PER_SECOND = 10;
+
+    /**
+     * Tokens taken by a group command
+     */
+    static final int GROUP_COMMAND_COST = COMMANDS_PER_SECOND;
+
+    /**
+     * Minimum number of lights of a group to send identical light updates as a group update
+     */
+    static final int MIN_PROMOTED_LIGHTS = 3;
+
+    /**
+     * Maximum number of queued updates, further updates are dropped
+     */
+    static final int MAX_QUEUED_COMMANDS = 200;
+
+    private static final long NANOS_PER_TOKEN = TimeUnit.SECONDS.toNanos(1) / COMMANDS_PER_SECOND;
+
+    private final Logger logger = LoggerFactory.getLogger(CommandQueue.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final Function<String, String> urlResolver;
+    private final List<QueuedCommand> queue = new ArrayList<>();
+    private final Map<String, Set<String>> groupLights = new HashMap<>();
+
+    private long tokenNanos;
+    private long lastRefillNanos;
+    private boolean sending;
+
+    private long commandsSent;
+    private long commandsMerged;
+    private long commandsPromoted;
+    private long commandsDropped;
+
+    private static final class QueuedCommand {
+        private final HttpClient client;
+        private final String path;
+        private final @Nullable String lightId;
+        private final @Nullable String groupId;
+        private final Map<String, Command> commands = new LinkedHashMap<>();
+        private final List<CompletableFuture<Result>> futures = new ArrayList<>();
+        private boolean promotable = true;
+        private @Nullable String body;
+
+        private QueuedCommand(HttpClient client, String path, @Nullable String lightId, @Nullable String groupId) {
+            this.client = client;
+            this.path = path;
+            this.lightId = lightId;
+            this.groupId = groupId;
+        }
+
+        private void add(ConfigUpdate update, CompletableFuture<Result> future) {
+            // the bridge prefers xy over ct over hue and saturation, so a newer color mode replaces the older ones
+            for (Command command : update.commands) {
+                String colorMode = getColorMode(command.key);
+                if (colorMode != null) {
+                    commands.keySet().removeIf(key -> {
+                        String queuedColorMode = getColorMode(key);
+                        return queuedColorMode != null && !queuedColorMode.equals(colorMode);
+                    });
+                }
+            }
+            // later values replace earlier ones of the same attribute
+            update.commands.forEach(command -> commands.put(command.key, command));
+            futures.add(future);
+            body = null;
+        }
+
+        private static @Nullable String getColorMode(String key) {
+            switch (key) {
+                case "xy":
+                case "ct":
+                    return key;
+                case "hue":
+                case "sat":
+                    return "hs";
+                default:
+                    return null;
+            }
+        }
+
+        private String getBody() {
+            String body = this.body;
+            if (body == null) {
+                body = commands.values().stream().map(Command::toJson).collect(joining(",", "{", "}"));
+                this.body = body;
+            }
+            return body;
+        }
+    }
+
+    /**
+     * @param scheduler the scheduler to send the updates
+     * @param urlResolver resolves the path of a resource, e.g. "lights/1/state", to its URL
+     */
+    CommandQueue(ScheduledExecutorService scheduler, Function<String, String> urlResolver) {
+        this.scheduler = scheduler;
+        this.urlResolver = urlResolver;
+        this.tokenNanos = COMMANDS_PER_SECOND * NANOS_PER_TOKEN;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Queues a light update.
+     *
+     * @param client the client to send the update with
+     * @param lightId the id of the light
+     * @param path the path of the light state
+     * @param update the update
+     * @return the result of the update
+     */
+    CompletableFuture<Result> submitLight(HttpClient client, String lightId, String path, ConfigUpdate update) {
+        return submit(new QueuedCommand(client, path, lightId, null), update);
+    }
+
+    /**
+     * Queues a group update.
+     *
+     * @param client the client to send the update with
+     * @param groupId the id of the group
+     * @param path the path of the group action
+     * @param update the update
+     * @return the result of the update
+     */
+    CompletableFuture<Result> submitGroup(HttpClient client, String groupId, String path, ConfigUpdate update) {
+        return submit(new QueuedCommand(client, path, null, groupId), update);
+    }
+
+    /**
+     * Queues an update of a resource that is not a light or a group, e.g. a sensor.
+     *
+     * @param client the client to send the update with
+     * @param path the path of the resource
+     * @param update the update
+     * @return the result of the update
+     */
+    CompletableFuture<Result> submit(HttpClient client, String path, ConfigUpdate update) {
+        return submit(new QueuedCommand(client, path, null, null), update);
+    }
+
+    /**
+     * Sets the lights of a group, to find overlapping updates and to promote light updates to group updates.
+     *
+     * @param groupId the id of the group
+     * @param lightIds the ids of the lights of the group
+     */
+    synchronized void setGroupLights(String groupId, Collection<String> lightIds) {
+        groupLights.put(groupId, Collections.unmodifiableSet(new HashSet<>(lightIds)));
+    }
+
+    /**
+     * Forgets the lights of all groups except the given ones.
+     *
+     * @param groupIds the ids of the groups that still exist
+     */
+    synchronized void retainGroups(Set<String> groupIds) {
+        groupLights.keySet().retainAll(groupIds);
+    }
+
+    synchronized long getCommandsSent() {
+        return commandsSent;
+    }
+
+    synchronized long getCommandsMerged() {
+        return commandsMerged;
+    }
+
+    synchronized long getCommandsPromoted() {
+        return commandsPromoted;
+    }
+
+    synchronized long getCommandsDropped() {
+        return commandsDropped;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CommandQueue [queued=" + queue.size() + ", sent=" + commandsSent + ", merged=" + commandsMerged
+                + ", promoted=" + commandsPromoted + ", dropped=" + commandsDropped + "]";
+    }
+
+    private synchronized CompletableFuture<Result> submit(QueuedCommand command, ConfigUpdate update) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+        for (int i = queue.size() - 1; i >= 0; i--) {
+            QueuedCommand queued = queue.get(i);
+            if (queued.path.equals(command.path) && queued.client == command.client) {
+                queued.add(update, future);
+                commandsMerged++;
+                return future;
+            }
+            if (overlaps(queued, command)) {
+                // merging would reorder the updates of the affected lights
+                break;
+            }
+        }
+        if (queue.size() >= MAX_QUEUED_COMMANDS) {
+            commandsDropped++;
+            logger.debug("Command queue full, dropping update of {}", command.path);
+            future.completeExceptionally(new ApiException("Too many queued commands, update of " + command.path
+                    + " dropped"));
+            return future;
+        }
+        command.add(update, future);
+        queue.add(command);
+        if (!sending) {
+            sending = true;
+            scheduler.execute(this::sendNext);
+        }
+        return future;
+    }
+
+    private void sendNext() {
+        List<QueuedCommand> batch;
+        String path;
+        String body;
+        boolean promoted;
+        synchronized (this) {
+            if (queue.isEmpty()) {
+                sending = false;
+                logger.debug("All updates sent: {}", this);
+                return;
+            }
+            QueuedCommand head = queue.get(0);
+            String promotedGroupId = null;
+            batch = Collections.singletonList(head);
+            if (head.lightId != null && head.promotable) {
+                for (Map.Entry<String, Set<String>> group : groupLights.entrySet()) {
+                    List<QueuedCommand> groupBatch = findIdenticalUpdates(head, group.getValue());
+                    if (groupBatch != null && groupBatch.size() > batch.size()) {
+                        batch = groupBatch;
+                        promotedGroupId = group.getKey();
+                    }
+                }
+            }
+            promoted = promotedGroupId != null;
+            long waitNanos = takeTokens(promoted || head.groupId != null ? GROUP_COMMAND_COST : 1);
+            if (waitNanos > 0) {
+                scheduler.schedule(this::sendNext, waitNanos, TimeUnit.NANOSECONDS);
+                return;
+            }
+            queue.removeAll(batch);
+            commandsSent++;
+            if (promoted) {
+                commandsPromoted += batch.size();
+                path = "groups/" + promotedGroupId + "/action";
+            } else {
+                path = head.path;
+            }
+            body = head.getBody();
+        }
+
+        HttpClient client = batch.get(0).client;
+        String address = urlResolver.apply(path);
+        logger.debug("Sending put to address: {} body: {}", address, body);
+        try {
+            Result result = client.put(address, body);
+            if (promoted && (result.getResponseCode() != 200 || result.getBody().contains("\"error\""))) {
+                logger.debug("Group update {} failed, sending the light updates individually: {}", path,
+                        result.getBody());
+                synchronized (this) {
+                    batch.forEach(command -> command.promotable = false);
+                    queue.addAll(0, batch);
+                }
+            } else {
+                batch.forEach(command -> command.futures.forEach(future -> future.complete(result)));
+            }
+        } catch (IOException e) {
+            batch.forEach(command -> command.futures.forEach(future -> future.completeExceptionally(e)));
+        } catch (RuntimeException e) {
+            logger.warn("Unexpected error sending update of {}: {}", path, e.getMessage(), e);
+            batch.forEach(command -> command.futures.forEach(future -> future.completeExceptionally(e)));
+        }
+        scheduler.execute(this::sendNext);
+    }
+
+    /**
+     * Finds queued updates identical to the given light update for all lights of a group, that can be sent ahead of
+     * the updates queued in between. Must be called while holding the lock.
+     *
+     * @return the updates, or {@code null} if not all lights of the group have such an update
+     */
+    private @Nullable List<QueuedCommand> findIdenticalUpdates(QueuedCommand head, Set<String> lightIds) {
+        if (lightIds.size() < MIN_PROMOTED_LIGHTS || !lightIds.contains(head.lightId)) {
+            return null;
+        }
+        String body = head.getBody();
+        List<QueuedCommand> batch = new ArrayList<>();
+        List<QueuedCommand> skipped = new ArrayList<>();
+        for (QueuedCommand queued : queue) {
+            String lightId = queued.lightId;
+            if (lightId != null && lightIds.contains(lightId) && queued.promotable && queued.client == head.client
+                    && body.equals(queued.getBody()) && skipped.stream().noneMatch(s -> overlaps(s, queued))) {
+                batch.add(queued);
+                if (batch.size() == lightIds.size()) {
+                    return batch;
+                }
+            } else {
+                skipped.add(queued);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether two updates might affect the same lights, so that their order matters. Must be called while holding the
+     * lock.
+     */
+    private boolean overlaps(QueuedCommand first, QueuedCommand second) {
+        if (first.path.equals(second.path)) {
+            return true;
+        }
+        if (first.lightId == null && first.groupId == null || second.lightId == null && second.groupId == null) {
+            // neither light nor group, e.g. a sensor
+            return false;
+        }
+        if (first.lightId != null && second.lightId != null) {
+            return false;
+        }
+        Set<String> firstLights = getLights(first);
+        Set<String> secondLights = getLights(second);
+        // groups with unknown lights might contain any light
+        return firstLights == null || secondLights == null || !Collections.disjoint(firstLights, secondLights);
+    }
+
+    private @Nullable Set<String> getLights(QueuedCommand command) {
+        String lightId = command.lightId;
+        if (lightId != null) {
+            return Collections.singleton(lightId);
+        }
+        return groupLights.get(Objects.requireNonNull(command.groupId));
+    }
+
+    /**
+     * Takes tokens from the bucket. Must be called while holding the lock.
+     *
+     * @return 0 if the tokens were taken, otherwise the time to wait for enough tokens in nanoseconds
+     */
+    private long takeTokens(int tokens) {
+        long now = System.nanoTime();
+        long capacity = COMMANDS_PER_SECOND * NANOS_PER_TOKEN;
+        tokenNanos = Math.min(capacity, tokenNanos + (now - lastRefillNanos));
+        lastRefillNanos = now;
+        long required = tokens * NANOS_PER_TOKEN;
+        if (tokenNanos < required) {
+            return required - tokenNanos;
+        }
+        tokenNanos -= required;
+        return 0;
+    }
+}
@@ -26,8 +26,10 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -70,7 +72,7 @@ public class HueBridge {
 
     private final Gson gson = new GsonBuilder().setDateFormat(DATE_FORMAT).create();
     private HttpClient http = new HttpClient();
-    private final ScheduledExecutorService scheduler;
+    private final CommandQueue commandQueue;
 
     @Nullable
     private Config cachedConfig;
@@ -93,7 +95,7 @@ public class HueBridge {
             baseUrl = protocol + "://" + ip + ":" + port + "/api";
         }
         this.baseUrl = baseUrl;
-        this.scheduler = scheduler;
+        this.commandQueue = new CommandQueue(scheduler, this::getRelativeURL);
     }
 
     /**
@@ -241,6 +243,54 @@ public class HueBridge {
         return sensorList;
     }
 
+    /**
+     * Returns the lights whose state changed since the digest last accepted them.
+     *
+     * The response of the bridge is scanned by the digest, and only new and changed lights are mapped. The ids of all
+     * lights known to the bridge are available from {@link PayloadDigest#getIds()} afterwards.
+     *
+     * @param digest the digest of the last accepted lights
+     * @return list of new and changed lights
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public List<FullLight> getChangedFullLights(PayloadDigest digest) throws IOException, ApiException {
+        requireAuthentication();
+
+        if (ApiVersionUtils.supportsFullLights(getVersion())) {
+            Result result = http.get(getRelativeURL("lights"));
+
+            handleErrors(result);
+
+            return fromJsonEntries(digest.diff(result.getBody()), FullLight.class);
+        } else {
+            Result result = http.get(getRelativeURL(""));
+
+            handleErrors(result);
+
+            return fromJsonEntries(digest.diffMember(result.getBody(), "lights"), FullLight.class);
+        }
+    }
+
+    /**
+     * Returns the sensors whose state changed since the digest last accepted them.
+     *
+     * The response of the bridge is scanned by the digest, and only new and changed sensors are mapped. The ids of all
+     * sensors known to the bridge are available from {@link PayloadDigest#getIds()} afterwards.
+     *
+     * @param digest the digest of the last accepted sensors
+     * @return list of new and changed sensors
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public List<FullSensor> getChangedSensors(PayloadDigest digest) throws IOException, ApiException {
+        requireAuthentication();
+
+        Result result = http.get(getRelativeURL("sensors"));
+
+        handleErrors(result);
+
+        return fromJsonEntries(digest.diff(result.getBody()), FullSensor.class);
+    }
+
     /**
      * Returns the last time a search for new lights was started.
      * If a search is currently running, the current time will be
@@ -359,9 +409,7 @@ public class HueBridge {
     public CompletableFuture<Result> setLightState(FullLight light, StateUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("lights/" + enc(light.getId()) + "/state"), body, update.getMessageDelay(),
-                scheduler);
+        return commandQueue.submitLight(http, light.getId(), "lights/" + enc(light.getId()) + "/state", update);
     }
 
     /**
@@ -377,9 +425,7 @@ public class HueBridge {
     public CompletableFuture<Result> setSensorState(FullSensor sensor, StateUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), body,
-                update.getMessageDelay(), scheduler);
+        return commandQueue.submit(http, "sensors/" + enc(sensor.getId()) + "/state", update);
     }
 
     /**
@@ -394,9 +440,7 @@ public class HueBridge {
     public CompletableFuture<Result> updateSensorConfig(FullSensor sensor, ConfigUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), body,
-                update.getMessageDelay(), scheduler);
+        return commandQueue.submit(http, "sensors/" + enc(sensor.getId()) + "/config", update);
     }
 
     /**
@@ -437,9 +481,52 @@ public class HueBridge {
             groupList.add(group);
         }
 
+        updateCommandQueueGroups(groupList, groupList.stream().map(FullGroup::getId).collect(Collectors.toSet()));
+
         return groupList;
     }
 
+    /**
+     * Returns the groups that changed since the digest last accepted them, including the all lights group.
+     *
+     * The response of the bridge is scanned by the digest, and only new and changed groups are mapped. The ids of all
+     * groups known to the bridge are available from {@link PayloadDigest#getIds()} afterwards.
+     *
+     * @param digest the digest of the last accepted groups
+     * @return list of new and changed groups
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public List<FullGroup> getChangedGroups(PayloadDigest digest) throws IOException, ApiException {
+        requireAuthentication();
+
+        Result result = http.get(getRelativeURL("groups"));
+
+        handleErrors(result);
+
+        Map<String, String> changedGroups = digest.diff(result.getBody());
+
+        if (!digest.getIds().contains("0")) {
+            // Group 0 is not returned, we request it as in fact it exists
+            Result groupResult = http.get(getRelativeURL("groups/0"));
+
+            handleErrors(groupResult);
+
+            String group = digest.diffEntry("0", groupResult.getBody());
+            if (group != null) {
+                changedGroups.put("0", group);
+            }
+        }
+
+        List<FullGroup> groupList = fromJsonEntries(changedGroups, FullGroup.class);
+        updateCommandQueueGroups(groupList, digest.getIds());
+        return groupList;
+    }
+
+    private void updateCommandQueueGroups(List<FullGroup> groups, Set<String> groupIds) {
+        groups.forEach(group -> commandQueue.setGroupLights(group.getId(), group.getLights()));
+        commandQueue.retainGroups(groupIds);
+    }
+
     /**
      * Creates a new group and returns it.
      * Due to API limitations, the name of the returned object
@@ -608,9 +695,7 @@ public class HueBridge {
     public CompletableFuture<Result> setGroupState(Group group, StateUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("groups/" + enc(group.getId()) + "/action"), body, update.getMessageDelay(),
-                scheduler);
+        return commandQueue.submitGroup(http, group.getId(), "groups/" + enc(group.getId()) + "/action", update);
     }
 
     /**
@@ -997,6 +1082,18 @@ public class HueBridge {
         }
     }
 
+    // Maps the raw JSON of entries keyed by their id
+    private <T extends HueObject> List<T> fromJsonEntries(Map<String, String> entries, Class<T> classOfT)
+            throws ApiException {
+        List<T> list = new ArrayList<>(entries.size());
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            T object = safeFromJson(entry.getValue(), classOfT);
+            object.setId(entry.getKey());
+            list.add(object);
+        }
+        return list;
+    }
+
     // Used as assert in all requests to elegantly catch common errors
     public void handleErrors(Result result) throws IOException, ApiException {
         if (result.getResponseCode() != 200) {
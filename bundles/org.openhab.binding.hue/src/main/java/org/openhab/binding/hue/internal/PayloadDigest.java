@@ -0,0 +1,280 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.exceptions.ApiException;
+
+/**
+ * Compact digest of the last accepted JSON payload of a bridge resource, like the lights or the sensors, keyed by the
+ * id of the entries.
+ *
+ * A payload is scanned without mapping it to objects: the raw JSON text of each entry is hashed and compared with the
+ * hash of the entry last accepted, so that only new and changed entries have to be mapped by Gson. The hash of an entry
+ * is remembered only once it is {@link #accept accepted}, so an entry that was not accepted, e.g. because a listener
+ * bypassed it, is reported as changed again by the next scan.
+ *
+ * The digest is not thread safe, it is meant to be used by a single polling job.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PayloadDigest {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    @FunctionalInterface
+    private interface MemberConsumer {
+        void accept(String name, int valueStart, int valueEnd) throws ApiException;
+    }
+
+    private final Map<String, Long> acceptedHashes = new HashMap<>();
+    private final Map<String, Long> pendingHashes = new HashMap<>();
+    private final Set<String> ids = new HashSet<>();
+
+    /**
+     * Scans a JSON object of entries keyed by their id, e.g. the response to a request of "lights".
+     *
+     * @param json the JSON object
+     * @return the raw JSON of the new and changed entries, by id
+     * @throws ApiException if the JSON is not an object
+     */
+    public Map<String, String> diff(String json) throws ApiException {
+        return diff(json, 0);
+    }
+
+    /**
+     * Scans a member of a JSON object holding entries keyed by their id, e.g. the "lights" of the full configuration.
+     *
+     * @param json the JSON object
+     * @param member the name of the member holding the entries
+     * @return the raw JSON of the new and changed entries, by id
+     * @throws ApiException if the JSON is not an object
+     */
+    public Map<String, String> diffMember(String json, String member) throws ApiException {
+        int[] memberStart = { -1 };
+        forEachMember(json, 0, (name, valueStart, valueEnd) -> {
+            if (memberStart[0] < 0 && member.equals(name)) {
+                memberStart[0] = valueStart;
+            }
+        });
+        if (memberStart[0] < 0) {
+            ids.clear();
+            pendingHashes.clear();
+            return new LinkedHashMap<>();
+        }
+        return diff(json, memberStart[0]);
+    }
+
+    /**
+     * Adds a single entry to the last scan, e.g. an entry that has to be requested separately.
+     *
+     * @param id the id of the entry
+     * @param json the raw JSON of the entry
+     * @return the raw JSON of the entry if it is new or has changed, {@code null} otherwise
+     */
+    public @Nullable String diffEntry(String id, String json) {
+        ids.add(id);
+        return changed(id, json, 0, json.length()) ? json : null;
+    }
+
+    /**
+     * Returns the ids of all entries of the last scan, changed or not.
+     *
+     * @return the ids
+     */
+    public Set<String> getIds() {
+        return Collections.unmodifiableSet(ids);
+    }
+
+    /**
+     * Remembers the hash of an entry reported as changed by the last scan, so that it is skipped by the next scans
+     * until its JSON changes.
+     *
+     * @param id the id of the entry
+     */
+    public void accept(String id) {
+        Long hash = pendingHashes.remove(id);
+        if (hash != null) {
+            acceptedHashes.put(id, hash);
+        }
+    }
+
+    /**
+     * Forgets the hash of an entry, so that it is reported as changed by the next scan.
+     *
+     * @param id the id of the entry
+     */
+    public void forget(String id) {
+        acceptedHashes.remove(id);
+        pendingHashes.remove(id);
+    }
+
+    /**
+     * Forgets the hashes of all entries.
+     */
+    public void clear() {
+        acceptedHashes.clear();
+        pendingHashes.clear();
+        ids.clear();
+    }
+
+    private Map<String, String> diff(String json, int start) throws ApiException {
+        ids.clear();
+        pendingHashes.clear();
+        Map<String, String> changed = new LinkedHashMap<>();
+        forEachMember(json, start, (id, valueStart, valueEnd) -> {
+            ids.add(id);
+            if (changed(id, json, valueStart, valueEnd)) {
+                changed.put(id, json.substring(valueStart, valueEnd));
+            }
+        });
+        return changed;
+    }
+
+    private boolean changed(String id, String json, int start, int end) {
+        long hash = hash(json, start, end);
+        Long acceptedHash = acceptedHashes.get(id);
+        if (acceptedHash != null && acceptedHash == hash) {
+            return false;
+        }
+        pendingHashes.put(id, hash);
+        return true;
+    }
+
+    // FNV-1a hash of the characters, computed without copying them
+    private static long hash(String json, int start, int end) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = start; i < end; i++) {
+            hash = (hash ^ json.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Calls the consumer for each member of the JSON object starting at the given position. The names of the members
+     * are passed verbatim, escape sequences are not decoded.
+     */
+    private static void forEachMember(String json, int start, MemberConsumer consumer) throws ApiException {
+        int pos = skipWhitespace(json, start);
+        expect(json, pos, '{');
+        pos = skipWhitespace(json, pos + 1);
+        if (charAt(json, pos) == '}') {
+            return;
+        }
+        while (true) {
+            expect(json, pos, '"');
+            int nameEnd = skipString(json, pos);
+            String name = json.substring(pos + 1, nameEnd - 1);
+            pos = skipWhitespace(json, nameEnd);
+            expect(json, pos, ':');
+            int valueStart = skipWhitespace(json, pos + 1);
+            int valueEnd = skipValue(json, valueStart);
+            consumer.accept(name, valueStart, valueEnd);
+            pos = skipWhitespace(json, valueEnd);
+            if (charAt(json, pos) == '}') {
+                return;
+            }
+            expect(json, pos, ',');
+            pos = skipWhitespace(json, pos + 1);
+        }
+    }
+
+    // returns the position after the value starting at the given position
+    private static int skipValue(String json, int start) throws ApiException {
+        int depth = 0;
+        int pos = start;
+        do {
+            char c = charAt(json, pos);
+            switch (c) {
+                case '"':
+                    pos = skipString(json, pos);
+                    break;
+                case '{':
+                case '[':
+                    depth++;
+                    pos++;
+                    break;
+                case '}':
+                case ']':
+                    if (depth == 0) {
+                        throw unexpected(json, pos);
+                    }
+                    depth--;
+                    pos++;
+                    break;
+                default:
+                    if (depth == 0) {
+                        // literal or number
+                        while (pos < json.length() && ",}] \t\r\n".indexOf(json.charAt(pos)) < 0) {
+                            pos++;
+                        }
+                        return pos;
+                    }
+                    pos++;
+                    break;
+            }
+        } while (depth > 0);
+        return pos;
+    }
+
+    // returns the position after the closing quote of the string starting at the given position
+    private static int skipString(String json, int start) throws ApiException {
+        int pos = start + 1;
+        while (true) {
+            char c = charAt(json, pos);
+            if (c == '\\') {
+                pos += 2;
+            } else if (c == '"') {
+                return pos + 1;
+            } else {
+                pos++;
+            }
+        }
+    }
+
+    private static int skipWhitespace(String json, int start) {
+        int pos = start;
+        while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static void expect(String json, int pos, char expected) throws ApiException {
+        if (charAt(json, pos) != expected) {
+            throw unexpected(json, pos);
+        }
+    }
+
+    private static char charAt(String json, int pos) throws ApiException {
+        if (pos >= json.length()) {
+            throw new ApiException("API returned unexpected result: unexpected end of JSON");
+        }
+        return json.charAt(pos);
+    }
+
+    private static ApiException unexpected(String json, int pos) {
+        return new ApiException("API returned unexpected result: unexpected character '" + json.charAt(pos)
+                + "' at position " + pos);
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.handler;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Polling job whose interval adapts to the activity of the polled resources.
+ *
+ * After a command has been sent, the job polls with a short interval for {@link #FAST_POLLING_DURATION_MILLIS}, to
+ * pick up the resulting state quickly. While a poll finds no change, the interval grows step by step up to
+ * {@link #MAX_INTERVAL_FACTOR} times the configured interval. A poll that finds a change restores the configured
+ * interval.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class AdaptivePollingJob {
+
+    /**
+     * Time after a command during which the fast interval is used
+     */
+    static final long FAST_POLLING_DURATION_MILLIS = 10000;
+
+    /**
+     * Factor limiting the interval while nothing changes
+     */
+    static final int MAX_INTERVAL_FACTOR = 2;
+
+    /**
+     * Number of polls without change that it takes to grow the interval by the configured interval
+     */
+    private static final int IDLE_STEPS = 4;
+
+    private final ScheduledExecutorService scheduler;
+    private final BooleanSupplier poll;
+    private final long intervalMillis;
+    private final long fastIntervalMillis;
+
+    private long currentIntervalMillis;
+    private long fastPollingUntilMillis;
+    private int generation;
+    private @Nullable ScheduledFuture<?> job;
+
+    /**
+     * @param scheduler the scheduler to run the polls
+     * @param poll the poll, returning {@code true} if it found a change
+     * @param intervalMillis the configured polling interval
+     * @param fastIntervalMillis the polling interval after a command, limited to the configured interval
+     */
+    AdaptivePollingJob(ScheduledExecutorService scheduler, BooleanSupplier poll, long intervalMillis,
+            long fastIntervalMillis) {
+        this.scheduler = scheduler;
+        this.poll = poll;
+        this.intervalMillis = intervalMillis;
+        this.fastIntervalMillis = Math.min(intervalMillis, fastIntervalMillis);
+        this.currentIntervalMillis = intervalMillis;
+    }
+
+    /**
+     * Starts polling, if not started yet.
+     *
+     * @param initialDelayMillis the delay of the first poll
+     */
+    synchronized void start(long initialDelayMillis) {
+        if (job == null) {
+            currentIntervalMillis = intervalMillis;
+            schedule(initialDelayMillis);
+        }
+    }
+
+    /**
+     * Stops polling, interrupting a running poll.
+     */
+    synchronized void stop() {
+        ScheduledFuture<?> job = this.job;
+        if (job != null) {
+            job.cancel(true);
+        }
+        this.job = null;
+        // a poll that is still running must not schedule the next poll
+        generation++;
+    }
+
+    /**
+     * Switches to the fast interval, bringing the next poll forward if necessary.
+     */
+    synchronized void commandSent() {
+        fastPollingUntilMillis = System.currentTimeMillis() + FAST_POLLING_DURATION_MILLIS;
+        currentIntervalMillis = intervalMillis;
+        ScheduledFuture<?> job = this.job;
+        // only a poll that has not started yet can be rescheduled
+        if (job != null && job.getDelay(TimeUnit.MILLISECONDS) > fastIntervalMillis && job.cancel(false)) {
+            schedule(fastIntervalMillis);
+        }
+    }
+
+    /**
+     * Computes the delay of the next poll.
+     *
+     * @param changed whether the last poll found a change
+     * @param now the current time in milliseconds
+     * @return the delay in milliseconds
+     */
+    synchronized long nextDelay(boolean changed, long now) {
+        if (now < fastPollingUntilMillis) {
+            return fastIntervalMillis;
+        }
+        if (changed) {
+            currentIntervalMillis = intervalMillis;
+        } else {
+            currentIntervalMillis = Math.min(MAX_INTERVAL_FACTOR * intervalMillis,
+                    currentIntervalMillis + Math.max(1, intervalMillis / IDLE_STEPS));
+        }
+        return currentIntervalMillis;
+    }
+
+    private void schedule(long delayMillis) {
+        int scheduledGeneration = generation;
+        job = scheduler.schedule(() -> run(scheduledGeneration), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void run(int scheduledGeneration) {
+        boolean changed = poll.getAsBoolean();
+        synchronized (this) {
+            if (scheduledGeneration == generation) {
+                schedule(nextDelay(changed, System.currentTimeMillis()));
+            }
+        }
+    }
+}
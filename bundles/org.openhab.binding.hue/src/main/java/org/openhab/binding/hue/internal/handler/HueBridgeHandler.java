@@ -18,13 +18,13 @@ import static org.openhab.binding.hue.internal.HueBindingConstants.*;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -41,7 +41,6 @@ import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.binding.ConfigStatusBridgeHandler;
 import org.eclipse.smarthome.core.types.Command;
-import org.openhab.binding.hue.internal.ApiVersionUtils;
 import org.openhab.binding.hue.internal.Config;
 import org.openhab.binding.hue.internal.ConfigUpdate;
 import org.openhab.binding.hue.internal.FullConfig;
@@ -50,6 +49,7 @@ import org.openhab.binding.hue.internal.FullLight;
 import org.openhab.binding.hue.internal.FullSensor;
 import org.openhab.binding.hue.internal.HueBridge;
 import org.openhab.binding.hue.internal.HueConfigStatusMessage;
+import org.openhab.binding.hue.internal.PayloadDigest;
 import org.openhab.binding.hue.internal.State;
 import org.openhab.binding.hue.internal.StateUpdate;
 import org.openhab.binding.hue.internal.config.HueBridgeConfig;
@@ -85,6 +85,8 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
     private static final long BYPASS_MIN_DURATION_BEFORE_CMD = 1500L;
 
+    private static final long LIGHT_FAST_POLLING_INTERVAL = 2000L;
+
     private static final String DEVICE_TYPE = "EclipseSmartHome";
 
     private final Logger logger = LoggerFactory.getLogger(HueBridgeHandler.class);
@@ -93,6 +95,10 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final Map<String, FullSensor> lastSensorStates = new ConcurrentHashMap<>();
     private final Map<String, FullGroup> lastGroupStates = new ConcurrentHashMap<>();
 
+    private final PayloadDigest lightDigest = new PayloadDigest();
+    private final PayloadDigest sensorDigest = new PayloadDigest();
+    private final PayloadDigest groupDigest = new PayloadDigest();
+
     private @Nullable HueLightDiscoveryService discoveryService;
     private final Map<String, LightStatusListener> lightStatusListeners = new ConcurrentHashMap<>();
     private final Map<String, SensorStatusListener> sensorStatusListeners = new ConcurrentHashMap<>();
@@ -101,10 +107,13 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     final ReentrantLock pollingLock = new ReentrantLock();
 
     abstract class PollingRunnable implements Runnable {
+        private boolean changed;
+
         @Override
         public void run() {
             try {
                 pollingLock.lock();
+                changed = false;
                 if (!lastBridgeConnectionState) {
                     // if user is not set in configuration try to create a new user on Hue bridge
                     if (hueBridgeConfig.getUserName() == null) {
@@ -113,7 +122,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     lastBridgeConnectionState = tryResumeBridgeConnection();
                 }
                 if (lastBridgeConnectionState) {
-                    doConnectedRun();
+                    changed = doConnectedRun();
                     if (thing.getStatus() != ThingStatus.ONLINE) {
                         updateStatus(ThingStatus.ONLINE);
                     }
@@ -141,7 +150,17 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             }
         }
 
-        protected abstract void doConnectedRun() throws IOException, ApiException;
+        /**
+         * @return {@code true} if the bridge reported any change
+         */
+        protected abstract boolean doConnectedRun() throws IOException, ApiException;
+
+        /**
+         * Returns whether the last run found any change, to adapt the polling interval.
+         */
+        boolean hasChanged() {
+            return changed;
+        }
 
         private boolean isReachable(String ipAddress) {
             try {
@@ -167,16 +186,17 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         }
     }
 
-    private final Runnable sensorPollingRunnable = new PollingRunnable() {
+    private final PollingRunnable sensorPollingRunnable = new PollingRunnable() {
         @Override
-        protected void doConnectedRun() throws IOException, ApiException {
-            Map<String, FullSensor> lastSensorStateCopy = new HashMap<>(lastSensorStates);
+        protected boolean doConnectedRun() throws IOException, ApiException {
+            // only new and changed sensors are mapped
+            List<FullSensor> changedSensors = hueBridge.getChangedSensors(sensorDigest);
+            Set<String> sensorIds = sensorDigest.getIds();
 
             final HueLightDiscoveryService discovery = discoveryService;
 
-            for (final FullSensor sensor : hueBridge.getSensors()) {
+            for (final FullSensor sensor : changedSensors) {
                 String sensorId = sensor.getId();
-                lastSensorStateCopy.remove(sensorId);
 
                 final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
                 if (sensorStatusListener == null) {
@@ -187,17 +207,27 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     }
 
                     lastSensorStates.put(sensorId, sensor);
+                    sensorDigest.accept(sensorId);
                 } else {
                     if (sensorStatusListener.onSensorStateChanged(sensor)) {
                         lastSensorStates.put(sensorId, sensor);
+                        sensorDigest.accept(sensorId);
                     }
                 }
             }
 
             // Check for removed sensors
-            lastSensorStateCopy.forEach((sensorId, sensor) -> {
+            boolean removed = false;
+            for (Iterator<Map.Entry<String, FullSensor>> it = lastSensorStates.entrySet().iterator(); it.hasNext();) {
+                Map.Entry<String, FullSensor> entry = it.next();
+                String sensorId = entry.getKey();
+                if (sensorIds.contains(sensorId)) {
+                    continue;
+                }
                 logger.debug("Hue sensor '{}' removed.", sensorId);
-                lastSensorStates.remove(sensorId);
+                it.remove();
+                sensorDigest.forget(sensorId);
+                removed = true;
 
                 final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
                 if (sensorStatusListener != null) {
@@ -205,29 +235,26 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 }
 
                 if (discovery != null) {
-                    discovery.removeSensorDiscovery(sensor);
+                    discovery.removeSensorDiscovery(entry.getValue());
                 }
-            });
+            }
+
+            return removed || !changedSensors.isEmpty();
         }
     };
 
-    private final Runnable lightPollingRunnable = new PollingRunnable() {
+    private final PollingRunnable lightPollingRunnable = new PollingRunnable() {
         @Override
-        protected void doConnectedRun() throws IOException, ApiException {
-            Map<String, FullLight> lastLightStateCopy = new HashMap<>(lastLightStates);
-
-            List<FullLight> lights;
-            if (ApiVersionUtils.supportsFullLights(hueBridge.getVersion())) {
-                lights = hueBridge.getFullLights();
-            } else {
-                lights = hueBridge.getFullConfig().getLights();
-            }
+        protected boolean doConnectedRun() throws IOException, ApiException {
+            // only new and changed lights are mapped
+            List<FullLight> changedLights = hueBridge.getChangedFullLights(lightDigest);
+            Set<String> lightIds = lightDigest.getIds();
+            Set<String> updatedLightIds = new HashSet<>();
 
             final HueLightDiscoveryService discovery = discoveryService;
 
-            for (final FullLight fullLight : lights) {
+            for (final FullLight fullLight : changedLights) {
                 final String lightId = fullLight.getId();
-                lastLightStateCopy.remove(lightId);
 
                 final LightStatusListener lightStatusListener = lightStatusListeners.get(lightId);
                 if (lightStatusListener == null) {
@@ -238,17 +265,28 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     }
 
                     lastLightStates.put(lightId, fullLight);
+                    lightDigest.accept(lightId);
+                    updatedLightIds.add(lightId);
                 } else {
                     if (lightStatusListener.onLightStateChanged(fullLight)) {
                         lastLightStates.put(lightId, fullLight);
+                        lightDigest.accept(lightId);
+                        updatedLightIds.add(lightId);
                     }
                 }
             }
 
             // Check for removed lights
-            lastLightStateCopy.forEach((lightId, light) -> {
+            for (Iterator<Map.Entry<String, FullLight>> it = lastLightStates.entrySet().iterator(); it.hasNext();) {
+                Map.Entry<String, FullLight> entry = it.next();
+                String lightId = entry.getKey();
+                if (lightIds.contains(lightId)) {
+                    continue;
+                }
                 logger.debug("Hue light '{}' removed.", lightId);
-                lastLightStates.remove(lightId);
+                it.remove();
+                lightDigest.forget(lightId);
+                updatedLightIds.add(lightId);
 
                 final LightStatusListener lightStatusListener = lightStatusListeners.get(lightId);
                 if (lightStatusListener != null) {
@@ -256,13 +294,24 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 }
 
                 if (discovery != null) {
-                    discovery.removeLightDiscovery(light);
+                    discovery.removeLightDiscovery(entry.getValue());
                 }
-            });
+            }
 
-            Map<String, FullGroup> lastGroupStateCopy = new HashMap<>(lastGroupStates);
+            // The state of a group is computed from the state of its lights, so groups with updated lights have to be
+            // computed again even if the group itself did not change
+            if (!updatedLightIds.isEmpty()) {
+                lastGroupStates.forEach((groupId, group) -> {
+                    if (group.getLights().stream().anyMatch(updatedLightIds::contains)) {
+                        groupDigest.forget(groupId);
+                    }
+                });
+            }
 
-            for (final FullGroup fullGroup : hueBridge.getGroups()) {
+            List<FullGroup> changedGroups = hueBridge.getChangedGroups(groupDigest);
+            Set<String> groupIds = groupDigest.getIds();
+
+            for (final FullGroup fullGroup : changedGroups) {
                 State groupState = new State();
                 boolean on = false;
                 int sumBri = 0;
@@ -310,7 +359,6 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                         groupState.getXY());
 
                 String groupId = fullGroup.getId();
-                lastGroupStateCopy.remove(groupId);
 
                 final GroupStatusListener groupStatusListener = groupStatusListeners.get(groupId);
                 if (groupStatusListener == null) {
@@ -322,17 +370,27 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     }
 
                     lastGroupStates.put(groupId, fullGroup);
+                    groupDigest.accept(groupId);
                 } else {
                     if (groupStatusListener.onGroupStateChanged(fullGroup)) {
                         lastGroupStates.put(groupId, fullGroup);
+                        groupDigest.accept(groupId);
                     }
                 }
             }
 
             // Check for removed groups
-            lastGroupStateCopy.forEach((groupId, group) -> {
+            boolean groupRemoved = false;
+            for (Iterator<Map.Entry<String, FullGroup>> it = lastGroupStates.entrySet().iterator(); it.hasNext();) {
+                Map.Entry<String, FullGroup> entry = it.next();
+                String groupId = entry.getKey();
+                if (groupIds.contains(groupId)) {
+                    continue;
+                }
                 logger.debug("Hue group '{}' removed.", groupId);
-                lastGroupStates.remove(groupId);
+                it.remove();
+                groupDigest.forget(groupId);
+                groupRemoved = true;
 
                 final GroupStatusListener groupStatusListener = groupStatusListeners.get(groupId);
                 if (groupStatusListener != null) {
@@ -340,9 +398,12 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 }
 
                 if (discovery != null) {
-                    discovery.removeGroupDiscovery(group);
+                    discovery.removeGroupDiscovery(entry.getValue());
                 }
-            });
+            }
+
+            return groupRemoved || !changedLights.isEmpty() || !changedGroups.isEmpty()
+                    || !updatedLightIds.isEmpty();
         }
     };
 
@@ -350,8 +411,8 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
     private boolean propertiesInitializedSuccessfully = false;
 
-    private @Nullable ScheduledFuture<?> lightPollingJob;
-    private @Nullable ScheduledFuture<?> sensorPollingJob;
+    private @Nullable AdaptivePollingJob lightPollingJob;
+    private @Nullable AdaptivePollingJob sensorPollingJob;
 
     private @NonNullByDefault({}) HueBridge hueBridge = null;
     private @NonNullByDefault({}) HueBridgeConfig hueBridgeConfig = null;
@@ -374,6 +435,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 try {
                     hueBridge.handleErrors(result);
                     listener.setPollBypass(fadeTime);
+                    lightCommandSent();
                 } catch (Exception e) {
                     listener.unsetPollBypass();
                     handleStateUpdateException(listener, light, stateUpdate, fadeTime, e);
@@ -394,6 +456,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             hueBridge.setSensorState(sensor, stateUpdate).thenAccept(result -> {
                 try {
                     hueBridge.handleErrors(result);
+                    sensorCommandSent();
                 } catch (Exception e) {
                     handleStateUpdateException(sensor, stateUpdate, e);
                 }
@@ -412,6 +475,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             hueBridge.updateSensorConfig(sensor, configUpdate).thenAccept(result -> {
                 try {
                     hueBridge.handleErrors(result);
+                    sensorCommandSent();
                 } catch (Exception e) {
                     handleConfigUpdateException(sensor, configUpdate, e);
                 }
@@ -432,6 +496,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 try {
                     hueBridge.handleErrors(result);
                     setGroupPollBypass(group, fadeTime);
+                    lightCommandSent();
                 } catch (Exception e) {
                     unsetGroupPollBypass(group);
                     handleStateUpdateException(group, stateUpdate, e);
@@ -559,9 +624,8 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         }
     }
 
-    private void startLightPolling() {
-        ScheduledFuture<?> job = lightPollingJob;
-        if (job == null || job.isCancelled()) {
+    private synchronized void startLightPolling() {
+        if (lightPollingJob == null) {
             long lightPollingInterval;
             int configPollingInterval = hueBridgeConfig.getPollingInterval();
             if (configPollingInterval < 1) {
@@ -571,22 +635,27 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             } else {
                 lightPollingInterval = configPollingInterval;
             }
-            lightPollingJob = scheduler.scheduleWithFixedDelay(lightPollingRunnable, 1, lightPollingInterval,
-                    TimeUnit.SECONDS);
+            lightDigest.clear();
+            groupDigest.clear();
+            AdaptivePollingJob job = new AdaptivePollingJob(scheduler, () -> {
+                lightPollingRunnable.run();
+                return lightPollingRunnable.hasChanged();
+            }, TimeUnit.SECONDS.toMillis(lightPollingInterval), LIGHT_FAST_POLLING_INTERVAL);
+            job.start(TimeUnit.SECONDS.toMillis(1));
+            lightPollingJob = job;
         }
     }
 
-    private void stopLightPolling() {
-        ScheduledFuture<?> job = lightPollingJob;
+    private synchronized void stopLightPolling() {
+        AdaptivePollingJob job = lightPollingJob;
         if (job != null) {
-            job.cancel(true);
+            job.stop();
         }
         lightPollingJob = null;
     }
 
-    private void startSensorPolling() {
-        ScheduledFuture<?> job = sensorPollingJob;
-        if (job == null || job.isCancelled()) {
+    private synchronized void startSensorPolling() {
+        if (sensorPollingJob == null) {
             int configSensorPollingInterval = hueBridgeConfig.getSensorPollingInterval();
             if (configSensorPollingInterval > 0) {
                 long sensorPollingInterval;
@@ -597,20 +666,39 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 } else {
                     sensorPollingInterval = configSensorPollingInterval;
                 }
-                sensorPollingJob = scheduler.scheduleWithFixedDelay(sensorPollingRunnable, 1, sensorPollingInterval,
-                        TimeUnit.MILLISECONDS);
+                sensorDigest.clear();
+                AdaptivePollingJob job = new AdaptivePollingJob(scheduler, () -> {
+                    sensorPollingRunnable.run();
+                    return sensorPollingRunnable.hasChanged();
+                }, sensorPollingInterval, sensorPollingInterval);
+                job.start(1);
+                sensorPollingJob = job;
             }
         }
     }
 
-    private void stopSensorPolling() {
-        ScheduledFuture<?> job = sensorPollingJob;
+    private synchronized void stopSensorPolling() {
+        AdaptivePollingJob job = sensorPollingJob;
         if (job != null) {
-            job.cancel(true);
+            job.stop();
         }
         sensorPollingJob = null;
     }
 
+    private void lightCommandSent() {
+        AdaptivePollingJob job = lightPollingJob;
+        if (job != null) {
+            job.commandSent();
+        }
+    }
+
+    private void sensorCommandSent() {
+        AdaptivePollingJob job = sensorPollingJob;
+        if (job != null) {
+            job.commandSent();
+        }
+    }
+
     @Override
     public void dispose() {
         logger.debug("Handler disposed.");
@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+
+/**
+ *
+ * @author agent - Initial contribution
+ */
+public class CommandQueueTest {
+
+    private ScheduledExecutorService scheduler;
+    private CommandQueue queue;
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    // records the requests, holding back the first one until released
+    private final HttpClient client = new HttpClient() {
+        @Override
+        public Result put(String address, String body) throws IOException {
+            requests.add(address + " " + body);
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new Result("[{\"success\":{}}]", 200);
+        }
+    };
+
+    @Before
+    public void setup() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        queue = new CommandQueue(scheduler, path -> path);
+        queue.setGroupLights("1", Arrays.asList("1", "2", "3"));
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private CompletableFuture<Result> light(String lightId, StateUpdate update) {
+        return queue.submitLight(client, lightId, "lights/" + lightId + "/state", update);
+    }
+
+    private void sendHeldBackRequest() throws InterruptedException {
+        queue.submit(client, "sensors/10/state", new StateUpdate().setFlag(true));
+        while (requests.isEmpty()) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void waitFor(CompletableFuture<?> future)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        future.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testUpdatesOfTheSameLightAreMerged() throws Exception {
+        sendHeldBackRequest();
+
+        CompletableFuture<Result> first = light("4", new StateUpdate().turnOn().setBrightness(100));
+        CompletableFuture<Result> second = light("4", new StateUpdate().setBrightness(200));
+        release.countDown();
+        waitFor(first);
+        waitFor(second);
+
+        assertEquals(Arrays.asList("sensors/10/state {\"flag\":true}", "lights/4/state {\"on\":true,\"bri\":200}"),
+                requests);
+        assertEquals(1, queue.getCommandsMerged());
+        assertEquals(2, queue.getCommandsSent());
+    }
+
+    @Test
+    public void testMergedColorUpdatesKeepTheNewestColorMode() throws Exception {
+        sendHeldBackRequest();
+
+        CompletableFuture<Result> first = light("4", new StateUpdate().setXY(0.3f, 0.4f).setBrightness(100));
+        CompletableFuture<Result> second = light("4", new StateUpdate().setColorTemperature(300));
+        release.countDown();
+        waitFor(CompletableFuture.allOf(first, second));
+
+        assertEquals(Arrays.asList("sensors/10/state {\"flag\":true}", "lights/4/state {\"bri\":100,\"ct\":300}"),
+                requests);
+        assertEquals(1, queue.getCommandsMerged());
+    }
+
+    @Test
+    public void testIdenticalLightUpdatesArePromotedToGroup() throws Exception {
+        sendHeldBackRequest();
+
+        CompletableFuture<Result> light1 = light("1", new StateUpdate().turnOff());
+        CompletableFuture<Result> light4 = light("4", new StateUpdate().turnOff());
+        CompletableFuture<Result> light2 = light("2", new StateUpdate().turnOff());
+        CompletableFuture<Result> light3 = light("3", new StateUpdate().turnOff());
+        release.countDown();
+        waitFor(CompletableFuture.allOf(light1, light2, light3, light4));
+
+        assertEquals(Arrays.asList("sensors/10/state {\"flag\":true}", "groups/1/action {\"on\":false}",
+                "lights/4/state {\"on\":false}"), requests);
+        assertEquals(3, queue.getCommandsPromoted());
+    }
+
+    @Test
+    public void testUpdatesAreNotMergedAcrossGroupUpdates() throws Exception {
+        sendHeldBackRequest();
+
+        CompletableFuture<Result> first = light("1", new StateUpdate().setBrightness(50));
+        CompletableFuture<Result> group = queue.submitGroup(client, "1", "groups/1/action",
+                new StateUpdate().setBrightness(10));
+        CompletableFuture<Result> second = light("1", new StateUpdate().setColorTemperature(300));
+        release.countDown();
+        waitFor(CompletableFuture.allOf(first, group, second));
+
+        assertEquals(Arrays.asList("sensors/10/state {\"flag\":true}", "lights/1/state {\"bri\":50}",
+                "groups/1/action {\"bri\":10}", "lights/1/state {\"ct\":300}"), requests);
+        assertEquals(0, queue.getCommandsMerged());
+    }
+
+    @Test
+    public void testUpdatesAreDroppedWhenTheQueueIsFull() throws Exception {
+        sendHeldBackRequest();
+
+        for (int i = 0; i < CommandQueue.MAX_QUEUED_COMMANDS; i++) {
+            queue.submit(client, "sensors/" + (100 + i) + "/config", new ConfigUpdate());
+        }
+        CompletableFuture<Result> dropped = queue.submit(client, "sensors/99/config", new ConfigUpdate());
+
+        assertTrue(dropped.isCompletedExceptionally());
+        assertEquals(1, queue.getCommandsDropped());
+        release.countDown();
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.junit.Test;
+import org.openhab.binding.hue.internal.exceptions.ApiException;
+
+/**
+ *
+ * @author agent - Initial contribution
+ */
+public class PayloadDigestTest {
+
+    private static final String LIGHTS = "{\"1\":{\"state\":{\"on\":true,\"bri\":144,\"xy\":[0.5,0.4]},"
+            + "\"name\":\"Hue \\\"Lamp\\\" {1}\"}, \"2\" : {\"state\":{\"on\":false,\"bri\":254},\"name\":\"Lamp 2\"}}";
+
+    @Test
+    public void testNewEntriesAreChanged() throws ApiException {
+        PayloadDigest digest = new PayloadDigest();
+
+        Map<String, String> changed = digest.diff(LIGHTS);
+        assertEquals(2, changed.size());
+        assertEquals("{\"state\":{\"on\":true,\"bri\":144,\"xy\":[0.5,0.4]},\"name\":\"Hue \\\"Lamp\\\" {1}\"}",
+                changed.get("1"));
+        assertEquals("{\"state\":{\"on\":false,\"bri\":254},\"name\":\"Lamp 2\"}", changed.get("2"));
+        assertEquals(new HashSet<>(Arrays.asList("1", "2")), digest.getIds());
+    }
+
+    @Test
+    public void testOnlyAcceptedEntriesAreSkipped() throws ApiException {
+        PayloadDigest digest = new PayloadDigest();
+        digest.diff(LIGHTS);
+        digest.accept("1");
+
+        Map<String, String> changed = digest.diff(LIGHTS);
+        assertEquals(1, changed.size());
+        assertTrue(changed.containsKey("2"));
+
+        digest.accept("2");
+        assertTrue(digest.diff(LIGHTS).isEmpty());
+        assertEquals(2, digest.getIds().size());
+
+        changed = digest.diff(LIGHTS.replace("\"bri\":254", "\"bri\":253"));
+        assertEquals(1, changed.size());
+        assertTrue(changed.containsKey("2"));
+
+        digest.forget("1");
+        assertTrue(digest.diff(LIGHTS).containsKey("1"));
+    }
+
+    @Test
+    public void testRemovedEntries() throws ApiException {
+        PayloadDigest digest = new PayloadDigest();
+        digest.diff(LIGHTS);
+        digest.accept("1");
+        digest.accept("2");
+
+        assertTrue(digest.diff("{\"1\":{\"state\":{\"on\":true,\"bri\":144,\"xy\":[0.5,0.4]},"
+                + "\"name\":\"Hue \\\"Lamp\\\" {1}\"}}").isEmpty());
+        assertEquals(new HashSet<>(Arrays.asList("1")), digest.getIds());
+
+        assertTrue(digest.diff(" { } ").isEmpty());
+        assertTrue(digest.getIds().isEmpty());
+    }
+
+    @Test
+    public void testMember() throws ApiException {
+        PayloadDigest digest = new PayloadDigest();
+
+        String fullConfig = "{\"groups\":{\"lights\":{}},\"lights\":" + LIGHTS + ",\"config\":{\"name\":null}}";
+        Map<String, String> changed = digest.diffMember(fullConfig, "lights");
+        assertEquals(2, changed.size());
+
+        assertTrue(digest.diffMember("{\"config\":{}}", "lights").isEmpty());
+        assertTrue(digest.getIds().isEmpty());
+    }
+
+    @Test
+    public void testSingleEntry() throws ApiException {
+        PayloadDigest digest = new PayloadDigest();
+        digest.diff("{}");
+
+        assertNotNull(digest.diffEntry("0", "{\"name\":\"Group 0\"}"));
+        digest.accept("0");
+        assertNull(digest.diffEntry("0", "{\"name\":\"Group 0\"}"));
+        assertTrue(digest.getIds().contains("0"));
+    }
+
+    @Test(expected = ApiException.class)
+    public void testArray() throws ApiException {
+        new PayloadDigest().diff("[{\"error\":{\"type\":1}}]");
+    }
+
+    @Test(expected = ApiException.class)
+    public void testTruncated() throws ApiException {
+        new PayloadDigest().diff("{\"1\":{\"state\":{\"on\":true}");
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.Test;
+
+/**
+ *
+ * @author agent - Initial contribution
+ */
+public class AdaptivePollingJobTest {
+
+    private static final long INTERVAL = 10000;
+    private static final long FAST_INTERVAL = 2000;
+
+    private final AdaptivePollingJob job = new AdaptivePollingJob(mock(ScheduledExecutorService.class), () -> false,
+            INTERVAL, FAST_INTERVAL);
+
+    @Test
+    public void testIntervalGrowsWhileIdle() {
+        assertEquals(12500, job.nextDelay(false, 0));
+        assertEquals(15000, job.nextDelay(false, 0));
+        assertEquals(17500, job.nextDelay(false, 0));
+        assertEquals(AdaptivePollingJob.MAX_INTERVAL_FACTOR * INTERVAL, job.nextDelay(false, 0));
+        assertEquals(AdaptivePollingJob.MAX_INTERVAL_FACTOR * INTERVAL, job.nextDelay(false, 0));
+
+        assertEquals(INTERVAL, job.nextDelay(true, 0));
+    }
+
+    @Test
+    public void testFastIntervalAfterCommand() {
+        job.nextDelay(false, 0);
+        job.commandSent();
+        long now = System.currentTimeMillis();
+
+        assertEquals(FAST_INTERVAL, job.nextDelay(false, now));
+        assertEquals(FAST_INTERVAL, job.nextDelay(true, now));
+
+        long later = now + AdaptivePollingJob.FAST_POLLING_DURATION_MILLIS;
+        assertEquals(12500, job.nextDelay(false, later));
+    }
+}
@@ -44,6 +44,12 @@ public class KNXBindingConstants {
     public static final String MANUFACTURER_HARDWARE_TYPE = "manfacturerhardwaretype";
     public static final String MANUFACTURER_FIRMWARE_REVISION = "manfacturerfirmwarerevision";
 
+    // Bridge channel IDs
+    public static final String CHANNEL_READ_QUEUE_SIZE = "readQueueSize";
+    public static final String CHANNEL_READING_PAUSE = "readingPause";
+    public static final String CHANNEL_BUS_LOAD = "busLoad";
+    public static final String CHANNEL_READS_DEDUPLICATED = "readsDeduplicated";
+
     // Thing Configuration parameters
     public static final String IP_ADDRESS = "ipAddress";
     public static final String IP_CONNECTION_TYPE = "type";
@@ -12,9 +12,10 @@
  */
 package org.openhab.binding.knx.internal.client;
 
+import static org.openhab.binding.knx.internal.KNXBindingConstants.*;
+
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -22,6 +23,7 @@ import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.ThingUID;
@@ -64,6 +66,7 @@ import tuwien.auto.calimero.process.ProcessListener;
 public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClient {
 
     private static final int MAX_SEND_ATTEMPTS = 2;
+    private static final long STATISTICS_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(10);
 
     private final Logger logger = LoggerFactory.getLogger(AbstractKNXClient.class);
     private final KNXTypeMapper typeHelper = new KNXCoreTypeMapper();
@@ -86,7 +89,9 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable ScheduledFuture<?> connectJob;
 
     private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    private final ReadScheduler readScheduler;
+    private volatile boolean readsQueued;
+    private volatile long lastStatisticsUpdate;
 
     @FunctionalInterface
     private interface ListenerNotification {
@@ -132,6 +137,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         this.readRetriesLimit = readRetriesLimit;
         this.knxScheduler = knxScheduler;
         this.statusUpdateCallback = statusUpdateCallback;
+        this.readScheduler = new ReadScheduler(readingPause);
     }
 
     public void initialize() {
@@ -223,7 +229,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     @SuppressWarnings("null")
     private void releaseConnection() {
         logger.debug("Bridge {} is disconnecting from the KNX bus", thingUID);
-        readDatapoints.clear();
+        readScheduler.clear();
         busJob = nullify(busJob, j -> j.cancel(true));
         deviceInfoClient = null;
         managementProcedures = nullify(managementProcedures, mp -> mp.detach());
@@ -279,15 +285,27 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         if (processCommunicator == null) {
             return;
         }
-        ReadDatapoint datapoint = readDatapoints.poll();
+        long now = System.currentTimeMillis();
+        ReadDatapoint datapoint = readScheduler.next(now);
+        if (datapoint == null && readsQueued && readScheduler.size() == 0) {
+            readsQueued = false;
+            logger.debug("Bridge {} has no more reads queued: {}", thingUID, readScheduler);
+            updateReadStatistics(now);
+        } else if (now - lastStatisticsUpdate >= STATISTICS_INTERVAL_MILLIS) {
+            updateReadStatistics(now);
+        }
         if (datapoint != null) {
+            readsQueued = true;
             datapoint.incrementRetries();
             try {
-                logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
+                logger.trace("Sending a Group Read Request telegram for {} ({})",
+                        datapoint.getDatapoint().getMainAddress(), datapoint.getPriority());
                 processCommunicator.read(datapoint.getDatapoint());
+                readScheduler.readSucceeded(System.currentTimeMillis());
             } catch (KNXException e) {
+                readScheduler.readFailed(System.currentTimeMillis());
                 if (datapoint.getRetries() < datapoint.getLimit()) {
-                    readDatapoints.add(datapoint);
+                    readScheduler.add(datapoint);
                     logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
                             datapoint.getDatapoint().getMainAddress(), e.getMessage());
                 } else {
@@ -301,6 +319,15 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         }
     }
 
+    private void updateReadStatistics(long now) {
+        lastStatisticsUpdate = now;
+        statusUpdateCallback.updateState(CHANNEL_READ_QUEUE_SIZE, new DecimalType(readScheduler.size()));
+        statusUpdateCallback.updateState(CHANNEL_READING_PAUSE, new DecimalType(readScheduler.getPause()));
+        statusUpdateCallback.updateState(CHANNEL_BUS_LOAD, new DecimalType(readScheduler.getBusLoad()));
+        statusUpdateCallback.updateState(CHANNEL_READS_DEDUPLICATED,
+                new DecimalType(readScheduler.getReadsDeduplicated()));
+    }
+
     public void dispose() {
         cancelReconnectJob();
         disconnect(null);
@@ -323,7 +350,8 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
     @Override
     public void indication(@Nullable FrameEvent e) {
-        // no-op
+        // bus load feedback for pacing the reads
+        readScheduler.frameReceived(System.currentTimeMillis());
     }
 
     @Override
@@ -366,13 +394,8 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
-        }
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
+        readScheduler.add(new ReadDatapoint(datapoint, readRetriesLimit, priority));
     }
 
     @Override
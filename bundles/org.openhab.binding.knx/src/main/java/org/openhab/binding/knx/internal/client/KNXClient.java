@@ -79,9 +79,12 @@ public interface KNXClient {
     /**
      * Schedule the given data point for asynchronous reading.
      *
+     * Reads of a data point which is already scheduled are merged with the scheduled read.
+     *
      * @param datapoint the datapoint
+     * @param priority the priority class of the read
      */
-    void readDatapoint(Datapoint datapoint);
+    void readDatapoint(Datapoint datapoint, ReadPriority priority);
 
     /**
      * Write a command to the KNX bus.
@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Priority classes of queued group read requests, in the order they are served.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public enum ReadPriority {
+    /**
+     * Reads requested explicitly, e.g. by a REFRESH command or by linking a channel
+     */
+    ON_DEMAND,
+
+    /**
+     * Initial reads of all channels when a thing comes online
+     */
+    STARTUP,
+
+    /**
+     * Reads repeated in the configured read interval
+     */
+    PERIODIC;
+
+    /**
+     * Whether this priority is served before the given one
+     *
+     * @param other the priority to compare with
+     * @return {@code true} if this priority is higher
+     */
+    public boolean isHigherThan(ReadPriority other) {
+        return ordinal() < other.ordinal();
+    }
+}
@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Queue of group read requests with priority classes and adaptive pacing.
+ *
+ * Requests are served in the order of their {@link ReadPriority}, and in FIFO order within the same priority. Only one
+ * request per group address is queued: requesting a group address that is already queued keeps the queued request,
+ * raising its priority if necessary.
+ *
+ * The pause between two reads starts at the configured reading pause. It is doubled, up to {@link #MAX_PAUSE_MILLIS},
+ * when a read fails or the bus is busy, and halved again down to the configured reading pause when reads succeed on a
+ * quiet bus. The bus load is measured from the frames received by the network link, which includes the responses to
+ * the reads.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadScheduler {
+
+    /**
+     * Upper limit of the adaptive pause between two reads
+     */
+    static final long MAX_PAUSE_MILLIS = 2000;
+
+    /**
+     * Number of received frames per second above which the bus is considered busy. A twisted pair bus transports
+     * about 50 frames per second at most.
+     */
+    static final int BUSY_FRAMES_PER_SECOND = 30;
+
+    private static final long BUS_LOAD_WINDOW_MILLIS = 1000;
+
+    private final Map<GroupAddress, ReadDatapoint> pending = new HashMap<>();
+    private final Map<ReadPriority, Deque<ReadDatapoint>> queues = new EnumMap<>(ReadPriority.class);
+    private final long readingPause;
+
+    private long pause;
+    private long nextReadMillis;
+    private long busLoadWindowStart;
+    private int busLoadWindowFrames;
+    private int busLoad;
+    private long readsSent;
+    private long readsFailed;
+    private long readsDeduplicated;
+
+    /**
+     * @param readingPause minimum pause between two reads in milliseconds
+     */
+    public ReadScheduler(long readingPause) {
+        this.readingPause = readingPause;
+        this.pause = readingPause;
+        for (ReadPriority priority : ReadPriority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Queue a read request, unless the group address is queued already.
+     *
+     * @param datapoint the read request
+     * @return {@code true} if the request was queued, {@code false} if it was merged with a queued request
+     */
+    public synchronized boolean add(ReadDatapoint datapoint) {
+        GroupAddress address = datapoint.getDatapoint().getMainAddress();
+        ReadDatapoint queued = pending.get(address);
+        if (queued == null) {
+            pending.put(address, datapoint);
+            queues.get(datapoint.getPriority()).add(datapoint);
+            return true;
+        }
+        readsDeduplicated++;
+        if (datapoint.getPriority().isHigherThan(queued.getPriority())) {
+            // the entry left behind in the lower priority queue is skipped when polled
+            queued.setPriority(datapoint.getPriority());
+            queues.get(datapoint.getPriority()).add(queued);
+        }
+        return false;
+    }
+
+    /**
+     * Get the next read request to send, if the pause since the last read has passed.
+     *
+     * @param now the current time in milliseconds
+     * @return the read request, or {@code null} if there is none or it is too early
+     */
+    public synchronized @Nullable ReadDatapoint next(long now) {
+        if (now < nextReadMillis) {
+            return null;
+        }
+        for (Map.Entry<ReadPriority, Deque<ReadDatapoint>> queue : queues.entrySet()) {
+            ReadDatapoint datapoint;
+            while ((datapoint = queue.getValue().poll()) != null) {
+                GroupAddress address = datapoint.getDatapoint().getMainAddress();
+                if (datapoint.getPriority() == queue.getKey() && pending.get(address) == datapoint) {
+                    pending.remove(address);
+                    readsSent++;
+                    return datapoint;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Report a successful read, possibly shortening the pause.
+     *
+     * @param now the current time in milliseconds
+     */
+    public synchronized void readSucceeded(long now) {
+        updateBusLoad(now);
+        if (busLoad > BUSY_FRAMES_PER_SECOND) {
+            increasePause();
+        } else {
+            pause = Math.max(readingPause, pause / 2);
+        }
+        nextReadMillis = now + pause;
+    }
+
+    /**
+     * Report a failed read, extending the pause.
+     *
+     * @param now the current time in milliseconds
+     */
+    public synchronized void readFailed(long now) {
+        updateBusLoad(now);
+        readsFailed++;
+        increasePause();
+        nextReadMillis = now + pause;
+    }
+
+    /**
+     * Report a frame received from the bus.
+     *
+     * @param now the current time in milliseconds
+     */
+    public synchronized void frameReceived(long now) {
+        updateBusLoad(now);
+        busLoadWindowFrames++;
+    }
+
+    /**
+     * Drop all queued read requests and restore the configured reading pause.
+     */
+    public synchronized void clear() {
+        pending.clear();
+        queues.values().forEach(Deque::clear);
+        pause = readingPause;
+        nextReadMillis = 0;
+    }
+
+    /**
+     * Number of queued read requests
+     */
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    /**
+     * Current pause between two reads in milliseconds
+     */
+    public synchronized long getPause() {
+        return pause;
+    }
+
+    /**
+     * Frames received per second during the last measurement window of at least a second
+     */
+    public synchronized int getBusLoad() {
+        return busLoad;
+    }
+
+    /**
+     * Number of read requests merged with an already queued request
+     */
+    public synchronized long getReadsDeduplicated() {
+        return readsDeduplicated;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ReadScheduler [queued=" + pending.size() + ", sent=" + readsSent + ", failed=" + readsFailed
+                + ", deduplicated=" + readsDeduplicated + ", pause=" + pause + "ms, busLoad=" + busLoad + "/s]";
+    }
+
+    private void increasePause() {
+        pause = Math.max(readingPause, Math.min(MAX_PAUSE_MILLIS, Math.max(1, pause) * 2));
+    }
+
+    private void updateBusLoad(long now) {
+        long elapsed = now - busLoadWindowStart;
+        if (elapsed >= BUS_LOAD_WINDOW_MILLIS) {
+            busLoad = (int) (busLoadWindowFrames * 1000L / elapsed);
+            busLoadWindowStart = now;
+            busLoadWindowFrames = 0;
+        }
+    }
+}
@@ -15,9 +15,10 @@ package org.openhab.binding.knx.internal.client;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
+import org.eclipse.smarthome.core.types.State;
 
 /**
- * Callback interface which enables the KNXClient implementations to update the thing status.
+ * Callback interface which enables the KNXClient implementations to update the thing status and channels.
  *
  * @author Simon Kaufmann - initial contribution and API.
  *
@@ -38,4 +39,12 @@ public interface StatusUpdateCallback {
      * @param status
      */
     void updateStatus(ThingStatus status, ThingStatusDetail thingStatusDetail, String message);
+
+    /**
+     * see BaseThingHandler
+     *
+     * @param channelID
+     * @param state
+     */
+    void updateState(String channelID, State state);
 }
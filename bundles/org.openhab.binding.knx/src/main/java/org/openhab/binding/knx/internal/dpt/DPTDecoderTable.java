@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.dpt;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.HSBType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.StopMoveType;
+import org.eclipse.smarthome.core.library.types.UpDownType;
+import org.eclipse.smarthome.core.types.Type;
+
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.KNXIllegalArgumentException;
+import tuwien.auto.calimero.dptxlator.DPTXlator;
+import tuwien.auto.calimero.dptxlator.TranslatorTypes;
+
+/**
+ * Precomputed decoders for the most common KNX datapoint types, converting the ASDU of a telegram directly to an
+ * openHAB type.
+ *
+ * The decoders yield the same types and values as the generic, string based conversion of
+ * {@link KNXCoreTypeMapper#toType}. Boolean (1.x), 8-bit unsigned (5.x), 4-byte float (14.x) and RGB (232.600) values
+ * are decoded from the raw bytes. The conversion of 2-byte float values (9.x) and angles (5.003) is left to the
+ * Calimero translator, which is created once per thread instead of once per telegram.
+ *
+ * Only datapoint types known by Calimero are contained, so that unsupported types are still reported by the generic
+ * conversion.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+final class DPTDecoderTable {
+
+    /**
+     * Converts the ASDU of a telegram into an openHAB type
+     */
+    @FunctionalInterface
+    interface Decoder {
+        /**
+         * @param data the ASDU
+         * @return the openHAB type, or {@code null} if the data cannot be represented
+         * @throws KNXException if the data does not match the datapoint type
+         */
+        @Nullable
+        Type decode(byte[] data) throws KNXException;
+    }
+
+    private static final String[] BOOLEAN_DPTS = { "1.001", "1.002", "1.003", "1.004", "1.005", "1.006", "1.007",
+            "1.008", "1.009", "1.010", "1.011", "1.012", "1.013", "1.014", "1.015", "1.016", "1.017", "1.018", "1.019",
+            "1.021", "1.022", "1.023", "1.100" };
+
+    private static final String[] FLOAT_2BYTE_DPTS = { "9.001", "9.002", "9.003", "9.004", "9.005", "9.006", "9.007",
+            "9.008", "9.010", "9.011", "9.020", "9.021", "9.022", "9.023", "9.024", "9.025", "9.026", "9.027",
+            "9.028" };
+
+    private static final int FLOAT_4BYTE_SUB_TYPES = 80;
+
+    private static final Map<String, Decoder> DECODERS = createDecoders();
+
+    private DPTDecoderTable() {
+        // only static members
+    }
+
+    /**
+     * Get the precomputed decoder of a datapoint type.
+     *
+     * @param dptId the datapoint type id, e.g. "9.001"
+     * @return the decoder, or {@code null} if the datapoint type has to be converted generically
+     */
+    static @Nullable Decoder get(String dptId) {
+        return DECODERS.get(dptId);
+    }
+
+    private static Map<String, Decoder> createDecoders() {
+        Map<String, Decoder> decoders = new HashMap<>();
+
+        for (String dptId : BOOLEAN_DPTS) {
+            Type[] values;
+            switch (dptId) {
+                case "1.008":
+                    values = new Type[] { UpDownType.UP, UpDownType.DOWN };
+                    break;
+                case "1.009":
+                case "1.019":
+                    values = new Type[] { OpenClosedType.CLOSED, OpenClosedType.OPEN };
+                    break;
+                case "1.010":
+                    values = new Type[] { StopMoveType.STOP, StopMoveType.MOVE };
+                    break;
+                case "1.022":
+                    values = new Type[] { DecimalType.valueOf("0"), DecimalType.valueOf("1") };
+                    break;
+                default:
+                    values = new Type[] { OnOffType.OFF, OnOffType.ON };
+                    break;
+            }
+            put(decoders, dptId, data -> values[checked(data, 1)[0] & 0x01]);
+        }
+
+        put(decoders, "5.001", data -> new PercentType(
+                BigDecimal.valueOf(Math.round((checked(data, 1)[0] & 0xFF) * 100.0 / 255))));
+        put(decoders, "5.003", translated("5.003", false));
+        put(decoders, "5.004", data -> new PercentType(BigDecimal.valueOf(checked(data, 1)[0] & 0xFF)));
+        for (String dptId : new String[] { "5.005", "5.006", "5.010" }) {
+            put(decoders, dptId, data -> new DecimalType((double) (checked(data, 1)[0] & 0xFF)));
+        }
+
+        for (String dptId : FLOAT_2BYTE_DPTS) {
+            // relative humidity is mapped to a percent type
+            put(decoders, dptId, translated(dptId, "9.007".equals(dptId)));
+        }
+
+        for (int subNumber = 0; subNumber < FLOAT_4BYTE_SUB_TYPES; subNumber++) {
+            put(decoders, String.format("14.%03d", subNumber), data -> {
+                checked(data, 4);
+                int bits = (data[0] & 0xFF) << 24 | (data[1] & 0xFF) << 16 | (data[2] & 0xFF) << 8 | (data[3] & 0xFF);
+                return new DecimalType((double) Float.intBitsToFloat(bits));
+            });
+        }
+
+        put(decoders, "232.600", data -> {
+            checked(data, 3);
+            return HSBType.fromRGB(data[0] & 0xFF, data[1] & 0xFF, data[2] & 0xFF);
+        });
+
+        return Collections.unmodifiableMap(decoders);
+    }
+
+    private static void put(Map<String, Decoder> decoders, String dptId, Decoder decoder) {
+        try {
+            // same lookup as the generic conversion, to keep its handling of unknown datapoint types
+            TranslatorTypes.createTranslator(0, dptId);
+            decoders.put(dptId, decoder);
+        } catch (KNXException e) {
+            // not supported by Calimero, left to the generic conversion
+        }
+    }
+
+    /**
+     * Decoder using a Calimero translator per thread, for numeric types with non-trivial conversion
+     */
+    private static Decoder translated(String dptId, boolean percent) {
+        ThreadLocal<@Nullable DPTXlator> translators = new ThreadLocal<>();
+        return data -> {
+            DPTXlator translator = translators.get();
+            if (translator == null) {
+                translator = TranslatorTypes.createTranslator(0, dptId);
+                translators.set(translator);
+            }
+            translator.setData(data);
+            if (percent) {
+                return new PercentType(BigDecimal.valueOf(Math.round(translator.getNumericValue())));
+            }
+            return new DecimalType(translator.getNumericValue());
+        };
+    }
+
+    /**
+     * Checks that the data holds at least one item of the given size, like the Calimero translators do
+     */
+    private static byte[] checked(byte[] data, int size) {
+        if (data.length < size) {
+            throw new KNXIllegalArgumentException("data length " + data.length + " < required item size " + size);
+        }
+        return data;
+    }
+}
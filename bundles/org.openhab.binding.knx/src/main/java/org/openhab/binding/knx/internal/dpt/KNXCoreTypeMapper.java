@@ -673,6 +673,11 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
         try {
+            DPTDecoderTable.Decoder decoder = DPTDecoderTable.get(datapoint.getDPT());
+            if (decoder != null) {
+                return decoder.decode(data);
+            }
+
             DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
             translator.setData(data);
             String value = translator.getValue();
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXFormatException;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class ReadSchedulerTest {
+
+    private static final long READING_PAUSE = 50;
+
+    private ReadScheduler scheduler;
+
+    @Before
+    public void setup() {
+        scheduler = new ReadScheduler(READING_PAUSE);
+    }
+
+    private ReadDatapoint datapoint(String groupAddress, ReadPriority priority) throws KNXFormatException {
+        return new ReadDatapoint(new CommandDP(new GroupAddress(groupAddress), "test", 0, "1.001"), 3, priority);
+    }
+
+    private String nextAddress(long now) {
+        ReadDatapoint next = scheduler.next(now);
+        return next == null ? null : next.getDatapoint().getMainAddress().toString();
+    }
+
+    @Test
+    public void testPriorityOrder() throws KNXFormatException {
+        scheduler.add(datapoint("1/0/1", ReadPriority.PERIODIC));
+        scheduler.add(datapoint("1/0/2", ReadPriority.STARTUP));
+        scheduler.add(datapoint("1/0/3", ReadPriority.STARTUP));
+        scheduler.add(datapoint("1/0/4", ReadPriority.ON_DEMAND));
+
+        assertEquals("1/0/4", nextAddress(0));
+        assertEquals("1/0/2", nextAddress(0));
+        assertEquals("1/0/3", nextAddress(0));
+        assertEquals("1/0/1", nextAddress(0));
+        assertNull(nextAddress(0));
+    }
+
+    @Test
+    public void testDuplicatesAreMerged() throws KNXFormatException {
+        assertTrue(scheduler.add(datapoint("1/0/1", ReadPriority.STARTUP)));
+        assertFalse(scheduler.add(datapoint("1/0/1", ReadPriority.PERIODIC)));
+        assertEquals(1, scheduler.size());
+        assertEquals(1, scheduler.getReadsDeduplicated());
+
+        assertEquals("1/0/1", nextAddress(0));
+        assertNull(nextAddress(0));
+    }
+
+    @Test
+    public void testDuplicateRaisesPriority() throws KNXFormatException {
+        scheduler.add(datapoint("1/0/1", ReadPriority.STARTUP));
+        scheduler.add(datapoint("1/0/2", ReadPriority.PERIODIC));
+        scheduler.add(datapoint("1/0/2", ReadPriority.ON_DEMAND));
+        assertEquals(2, scheduler.size());
+
+        ReadDatapoint next = scheduler.next(0);
+        assertEquals("1/0/2", next.getDatapoint().getMainAddress().toString());
+        assertEquals(ReadPriority.ON_DEMAND, next.getPriority());
+        assertEquals("1/0/1", nextAddress(0));
+        // the entry left in the periodic queue is not sent again
+        assertNull(nextAddress(0));
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    public void testPauseAdaptsToFailures() throws KNXFormatException {
+        scheduler.add(datapoint("1/0/1", ReadPriority.STARTUP));
+        scheduler.add(datapoint("1/0/2", ReadPriority.STARTUP));
+
+        scheduler.readFailed(1000);
+        assertEquals(2 * READING_PAUSE, scheduler.getPause());
+        assertNull(nextAddress(1000 + READING_PAUSE));
+        assertEquals("1/0/1", nextAddress(1000 + 2 * READING_PAUSE));
+
+        for (int i = 0; i < 10; i++) {
+            scheduler.readFailed(2000);
+        }
+        assertEquals(ReadScheduler.MAX_PAUSE_MILLIS, scheduler.getPause());
+
+        for (int i = 0; i < 10; i++) {
+            scheduler.readSucceeded(2000);
+        }
+        assertEquals(READING_PAUSE, scheduler.getPause());
+    }
+
+    @Test
+    public void testPauseAdaptsToBusLoad() {
+        // two seconds with a frame every 10 ms
+        for (long now = 0; now < 2000; now += 10) {
+            scheduler.frameReceived(now);
+        }
+        scheduler.readSucceeded(2000);
+        assertTrue(scheduler.getBusLoad() > ReadScheduler.BUSY_FRAMES_PER_SECOND);
+        assertEquals(2 * READING_PAUSE, scheduler.getPause());
+
+        // a quiet second
+        scheduler.readSucceeded(3000);
+        assertEquals(0, scheduler.getBusLoad());
+        assertEquals(READING_PAUSE, scheduler.getPause());
+    }
+}
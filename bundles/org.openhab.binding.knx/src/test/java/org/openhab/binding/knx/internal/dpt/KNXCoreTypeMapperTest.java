@@ -12,11 +12,20 @@
  */
 package org.openhab.binding.knx.internal.dpt;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.HSBType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.UpDownType;
+import org.eclipse.smarthome.core.types.Type;
 import org.junit.Test;
 
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXFormatException;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
 /**
  *
  * @author Simon Kaufmann - initial contribution and API
@@ -29,4 +38,46 @@ public class KNXCoreTypeMapperTest {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3"), "17.001"));
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
+
+    private Type toType(String dpt, int... data) throws KNXFormatException {
+        byte[] asdu = new byte[data.length];
+        for (int i = 0; i < data.length; i++) {
+            asdu[i] = (byte) data[i];
+        }
+        return new KNXCoreTypeMapper().toType(new CommandDP(new GroupAddress("1/2/3"), "test", 0, dpt), asdu);
+    }
+
+    @Test
+    public void testToType_boolean() throws KNXFormatException {
+        assertEquals(OnOffType.ON, toType("1.001", 1));
+        assertEquals(OnOffType.OFF, toType("1.001", 0));
+        assertEquals(UpDownType.DOWN, toType("1.008", 1));
+        assertEquals(new DecimalType(1), toType("1.022", 1));
+    }
+
+    @Test
+    public void testToType_8BitUnsigned() throws KNXFormatException {
+        assertEquals(new PercentType(100), toType("5.001", 0xFF));
+        assertEquals(new PercentType(50), toType("5.001", 0x80));
+        assertEquals(new PercentType(42), toType("5.004", 42));
+        assertEquals(new DecimalType(200), toType("5.010", 200));
+    }
+
+    @Test
+    public void testToType_floats() throws KNXFormatException {
+        // 2-byte float: mantissa 1050, exponent 1
+        assertEquals(new DecimalType(21), toType("9.001", 0x0C, 0x1A));
+        assertEquals(new DecimalType(21), toType("14.068", 0x41, 0xA8, 0x00, 0x00));
+    }
+
+    @Test
+    public void testToType_rgb() throws KNXFormatException {
+        assertEquals(HSBType.fromRGB(255, 128, 0), toType("232.600", 0xFF, 0x80, 0x00));
+    }
+
+    @Test
+    public void testToType_dataTooShort() throws KNXFormatException {
+        assertNull(toType("9.001", 0x0C));
+        assertNull(toType("14.068", 0x41, 0xA8));
+    }
 }
@@ -150,6 +150,8 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
     private volatile Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
     private volatile Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    private volatile @Nullable Long lastRawValue;
+    private volatile long lastRawValueUnchangedUntilMillis;
 
     private volatile LocalDateTime lastStatusInfoUpdate = LocalDateTime.MIN;
     private volatile ThingStatusInfo statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE,
@@ -419,6 +421,15 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
         channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
         channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        lastRawValue = null;
+        lastRawValueUnchangedUntilMillis = 0L;
+    }
+
+    @Override
+    public synchronized void channelLinked(ChannelUID channelUID) {
+        // Newly linked channel should receive the next polled value even when the data has not changed
+        lastRawValue = null;
+        super.channelLinked(channelUID);
     }
 
     @Override
@@ -683,10 +694,17 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
             int itemsPerRegister = 16 / readValueType.getBits();
             extractIndex = (readIndex.get() - pollStart) * itemsPerRegister + subIndex;
         }
-        numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType)
-                .map(state -> (State) state).orElse(UnDefType.UNDEF);
+        long rawValue = ModbusBitUtilities.extractRawFromRegisters(registers, extractIndex, readValueType);
+        if (skipUnchangedRawValue(rawValue)) {
+            logger.trace("Thing {} data unchanged (raw value {}), channels not updated. Registers {} for request {}",
+                    thing.getUID(), rawValue, registers, request);
+            return;
+        }
+        numericState = ModbusBitUtilities.rawToState(rawValue, readValueType).map(state -> (State) state)
+                .orElse(UnDefType.UNDEF);
         boolean boolValue = !numericState.equals(DecimalType.ZERO);
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
+        rememberRawValue(rawValue, values);
         logger.debug(
                 "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
                 thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0), extractIndex, numericState,
@@ -701,8 +719,15 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
             return;
         }
         boolean boolValue = bits.getBit(readIndex.get() - pollStart);
+        long rawValue = boolValue ? 1L : 0L;
+        if (skipUnchangedRawValue(rawValue)) {
+            logger.trace("Thing {} data unchanged (bool value {}), channels not updated. Bits {} for request {}",
+                    thing.getUID(), boolValue, bits, request);
+            return;
+        }
         DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
+        rememberRawValue(rawValue, values);
         logger.debug(
                 "Thing {} channels updated: {}. readValueType={}, readIndex={} -> numeric value {} and boolValue={}. Bits {} for request {}",
                 thing.getUID(), values, readValueType, readIndex, numericState, boolValue, bits, request);
@@ -797,6 +822,53 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         }
     }
 
+    /**
+     * Skip conversion, transformation and channel updates when the polled data has not changed, and none of the
+     * channels is due for updating the unchanged value. Only the status and last read success are updated then.
+     *
+     * Transformations are assumed to return the same result with the same input.
+     *
+     * @param rawValue raw bits of the polled value
+     * @return whether the polled value can be skipped
+     */
+    private boolean skipUnchangedRawValue(long rawValue) {
+        Long lastRawValue = this.lastRawValue;
+        if (lastRawValue == null || lastRawValue.longValue() != rawValue
+                || System.currentTimeMillis() > lastRawValueUnchangedUntilMillis) {
+            return false;
+        }
+        updateStatusIfChanged(ThingStatus.ONLINE);
+        ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
+        if (isLinked(lastReadSuccessUID)) {
+            tryUpdateState(lastReadSuccessUID, new DateTimeType());
+        }
+        return true;
+    }
+
+    /**
+     * Remember the processed raw value, and until when the channels do not need updating as long as it is unchanged
+     *
+     * @param rawValue raw bits of the polled value
+     * @param states updated channel data
+     */
+    private void rememberRawValue(long rawValue, Map<ChannelUID, State> states) {
+        if (updateUnchangedValuesEveryMillis <= 0L) {
+            // every poll updates the channels
+            lastRawValue = null;
+            return;
+        }
+        ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
+        long unchangedUntilMillis = Long.MAX_VALUE;
+        for (ChannelUID uid : states.keySet()) {
+            if (!uid.equals(lastReadSuccessUID)) {
+                unchangedUntilMillis = Math.min(unchangedUntilMillis,
+                        channelLastUpdated.getOrDefault(uid, 0L) + updateUnchangedValuesEveryMillis);
+            }
+        }
+        lastRawValue = rawValue;
+        lastRawValueUnchangedUntilMillis = unchangedUntilMillis;
+    }
+
     /**
      * Update linked channels
      *
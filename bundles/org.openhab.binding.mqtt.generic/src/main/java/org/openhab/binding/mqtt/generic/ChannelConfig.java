@@ -39,6 +39,8 @@ public class ChannelConfig {
     public boolean postCommand = false;
     public @Nullable Integer qos;
     public boolean retained = false;
+    /** Minimum time in milliseconds between two publishes to the command topic. Values in between are coalesced. */
+    public int coalesceInterval = 0;
     /** If true, the state topic will not update a state, but trigger a channel instead. */
     public boolean trigger = false;
     public String unit = "";
@@ -64,6 +64,11 @@ public class ChannelConfigBuilder {
         return this;
     }
 
+    public ChannelConfigBuilder withCoalesceInterval(int coalesceInterval) {
+        config.coalesceInterval = coalesceInterval;
+        return this;
+    }
+
     public ChannelConfigBuilder withQos(@Nullable Integer qos) {
         config.qos = qos;
         return this;
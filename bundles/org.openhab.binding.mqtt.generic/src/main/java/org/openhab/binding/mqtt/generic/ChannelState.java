@@ -14,6 +14,7 @@ package org.openhab.binding.mqtt.generic;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.IllegalFormatException;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -27,9 +28,9 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.library.types.StringType;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.types.Command;
-import org.eclipse.smarthome.core.types.TypeParser;
 import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
 import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
+import org.openhab.binding.mqtt.generic.tools.CoalescingPublisher;
 import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.binding.mqtt.generic.values.Value;
 import org.slf4j.Logger;
@@ -55,12 +56,15 @@ public class ChannelState implements MqttMessageSubscriber {
 
     // Runtime variables
     private @Nullable MqttBrokerConnection connection;
+    private @Nullable ScheduledExecutorService scheduler;
     protected final List<ChannelStateTransformation> transformationsIn = new ArrayList<>();
     protected final List<ChannelStateTransformation> transformationsOut = new ArrayList<>();
     private @Nullable ChannelStateUpdateListener channelStateUpdateListener;
     protected boolean hasSubscribed = false;
     private @Nullable ScheduledFuture<?> scheduledFuture;
     private CompletableFuture<@Nullable Void> future = new CompletableFuture<>();
+    // Last payload and its parsed command, to skip decoding if a topic repeats the same value
+    private volatile @Nullable ParsedPayload lastParsed;
 
     /**
      * Creates a new channel state.
@@ -152,32 +156,40 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
-        // String value: Apply transformations
-        String strValue = new String(payload, StandardCharsets.UTF_8);
-        for (ChannelStateTransformation t : transformationsIn) {
-            String transformedValue = t.processValue(strValue);
-            if (transformedValue != null) {
-                strValue = transformedValue;
-            } else {
-                logger.debug("Transformation '{}' returned null on '{}', discarding message", strValue, t.serviceName);
+        Command command = getLastCommand(payload);
+        if (command == null) {
+            // String value: Apply transformations
+            String strValue = new String(payload, StandardCharsets.UTF_8);
+            for (ChannelStateTransformation t : transformationsIn) {
+                String transformedValue = t.processValue(strValue);
+                if (transformedValue != null) {
+                    strValue = transformedValue;
+                } else {
+                    logger.debug("Transformation '{}' returned null on '{}', discarding message", strValue,
+                            t.serviceName);
+                    receivedOrTimeout();
+                    return;
+                }
+            }
+
+            // Is trigger?: Special handling
+            if (config.trigger) {
+                channelStateUpdateListener.triggerChannel(channelUID, strValue);
                 receivedOrTimeout();
                 return;
             }
-        }
 
-        // Is trigger?: Special handling
-        if (config.trigger) {
-            channelStateUpdateListener.triggerChannel(channelUID, strValue);
-            receivedOrTimeout();
-            return;
-        }
+            command = cachedValue.parseCommand(strValue);
+            if (command == null) {
+                logger.warn("Incoming payload '{}' not supported by type '{}'", strValue,
+                        cachedValue.getClass().getSimpleName());
+                receivedOrTimeout();
+                return;
+            }
 
-        Command command = TypeParser.parseCommand(cachedValue.getSupportedCommandTypes(), strValue);
-        if (command == null) {
-            logger.warn("Incoming payload '{}' not supported by type '{}'", strValue,
-                    cachedValue.getClass().getSimpleName());
-            receivedOrTimeout();
-            return;
+            if (transformationsIn.isEmpty()) {
+                lastParsed = new ParsedPayload(payload, command);
+            }
         }
 
         Command postOnlyCommand = cachedValue.isPostOnly(command);
@@ -191,7 +203,7 @@ public class ChannelState implements MqttMessageSubscriber {
         try {
             cachedValue.update(command);
         } catch (IllegalArgumentException | IllegalStateException e) {
-            logger.warn("Command '{}' not supported by type '{}': {}", strValue, cachedValue.getClass().getSimpleName(),
+            logger.warn("Command '{}' not supported by type '{}': {}", command, cachedValue.getClass().getSimpleName(),
                     e.getMessage());
             receivedOrTimeout();
             return;
@@ -205,6 +217,20 @@ public class ChannelState implements MqttMessageSubscriber {
         receivedOrTimeout();
     }
 
+    /**
+     * Returns the command parsed from the previous message if the given payload is identical to it.
+     * Incoming transformations are not guaranteed to be deterministic, so this only applies to channels
+     * without them. The command is still applied to the cached value, so relative commands like INCREASE
+     * keep working.
+     */
+    private @Nullable Command getLastCommand(byte[] payload) {
+        if (config.trigger || !transformationsIn.isEmpty()) {
+            return null;
+        }
+        final ParsedPayload lastParsed = this.lastParsed;
+        return lastParsed != null && Arrays.equals(lastParsed.payload, payload) ? lastParsed.command : null;
+    }
+
     /**
      * Returns the state topic. Might be an empty string if this is a stateless channel (TRIGGER kind channel).
      */
@@ -254,6 +280,7 @@ public class ChannelState implements MqttMessageSubscriber {
         this.connection = null;
         this.channelStateUpdateListener = null;
         hasSubscribed = false;
+        lastParsed = null;
         cachedValue.resetState();
     }
 
@@ -295,6 +322,7 @@ public class ChannelState implements MqttMessageSubscriber {
         }
 
         this.connection = connection;
+        this.scheduler = scheduler;
 
         if (StringUtils.isBlank(config.stateTopic)) {
             return CompletableFuture.completedFuture(null);
@@ -381,6 +409,12 @@ public class ChannelState implements MqttMessageSubscriber {
 
         int qos = (config.qos != null) ? config.qos : connection.getQos();
 
+        final ScheduledExecutorService scheduler = this.scheduler;
+        if (config.coalesceInterval > 0 && scheduler != null) {
+            // Only the latest value within the interval is published
+            return CoalescingPublisher.forConnection(connection).publish(connection, scheduler, config.commandTopic,
+                    commandString.getBytes(), qos, config.retained, config.coalesceInterval);
+        }
         return connection.publish(config.commandTopic, commandString.getBytes(), qos, config.retained);
     }
 
@@ -411,4 +445,14 @@ public class ChannelState implements MqttMessageSubscriber {
     public void setConnection(MqttBrokerConnection connection) {
         this.connection = connection;
     }
+
+    private static class ParsedPayload {
+        private final byte[] payload;
+        private final Command command;
+
+        ParsedPayload(byte[] payload, Command command) {
+            this.payload = payload;
+            this.command = command;
+        }
+    }
 }
@@ -188,8 +188,8 @@ public abstract class AbstractMqttAttributeClass implements SubscribeFieldToMQTT
             };
         }
 
-        subscriptions = getAllFields(getFieldsOf().getClass()).stream().filter(AbstractMqttAttributeClass::filterField)
-                .map(this::mapFieldToSubscriber).collect(Collectors.toList());
+        subscriptions = FieldBinder.of(getFieldsOf().getClass()).stream()
+                .map(binder -> mapFieldToSubscriber(binder.field)).collect(Collectors.toList());
 
         final CompletableFuture<?>[] futures = subscriptions.stream()
                 .map(m -> m.subscribeAndReceive(connection, timeout)).toArray(CompletableFuture[]::new);
@@ -235,17 +235,13 @@ public abstract class AbstractMqttAttributeClass implements SubscribeFieldToMQTT
             throw new IllegalStateException("No scheduler set!");
         }
 
-        MandatoryField mandatoryField = field.getAnnotation(MandatoryField.class);
-        @SuppressWarnings("null")
-        boolean mandatory = mandatoryField != null;
-
-        TopicPrefix topicUsesPrefix = field.getAnnotation(TopicPrefix.class);
-        @SuppressWarnings("null")
-        String localPrefix = (topicUsesPrefix != null) ? topicUsesPrefix.value() : prefix;
+        final FieldBinder binder = FieldBinder.of(field);
+        final String fieldPrefix = binder.topicPrefix;
+        final String localPrefix = (fieldPrefix != null) ? fieldPrefix : prefix;
 
         final String topic = basetopic + "/" + localPrefix + field.getName();
 
-        return createSubscriber(scheduler, field, topic, mandatory);
+        return createSubscriber(scheduler, field, topic, binder.mandatory);
     }
 
     /**
@@ -303,7 +299,7 @@ public abstract class AbstractMqttAttributeClass implements SubscribeFieldToMQTT
         // Set field. It is not a reason to fail the future exceptionally if a field could not be set.
         // But at least issue a warning to the log.
         try {
-            field.set(getFieldsOf(), value);
+            FieldBinder.of(field).set(getFieldsOf(), value);
             final boolean newComplete = !subscriptions.stream().anyMatch(s -> s.isMandatory() && !s.hasReceivedValue());
             attributeChangedListener.attributeChanged(field.getName(), value, connection, scheduler, newComplete);
             complete = newComplete;
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.mapping;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Holds everything that is needed to map MQTT values to a single field of an attribute class:
+ * The field annotations and a {@link MethodHandle} based setter.
+ * <p>
+ * The binders of an attribute class are created once per class and are shared by all instances,
+ * so that annotations are not looked up and access checks are not performed for every received value.
+ * </p>
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+final class FieldBinder {
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final ClassValue<List<FieldBinder>> BINDERS = new ClassValue<List<FieldBinder>>() {
+        @Override
+        protected List<FieldBinder> computeValue(@Nullable Class<?> type) {
+            if (type == null) {
+                return Collections.emptyList();
+            }
+            return Collections.unmodifiableList(AbstractMqttAttributeClass.getAllFields(type).stream()
+                    .filter(AbstractMqttAttributeClass::filterField).map(FieldBinder::new)
+                    .collect(Collectors.toList()));
+        }
+    };
+
+    final Field field;
+    final @Nullable MQTTvalueTransform transform;
+    final boolean mandatory;
+    final @Nullable String topicPrefix;
+    private final @Nullable MethodHandle setter;
+
+    private FieldBinder(Field field) {
+        this.field = field;
+        this.transform = field.getAnnotation(MQTTvalueTransform.class);
+        this.mandatory = field.getAnnotation(MandatoryField.class) != null;
+        TopicPrefix topicPrefix = field.getAnnotation(TopicPrefix.class);
+        this.topicPrefix = topicPrefix != null ? topicPrefix.value() : null;
+        MethodHandle setter;
+        try {
+            setter = MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            // Fall back to reflection, which reports the access problem when a value is assigned
+            setter = null;
+        }
+        this.setter = setter;
+    }
+
+    /**
+     * Returns the binders of all fields of the given class and its super classes that are
+     * neither final, transient nor static.
+     *
+     * @param type An attribute class
+     * @return A list of field binders
+     */
+    static List<FieldBinder> of(Class<?> type) {
+        return BINDERS.get(type);
+    }
+
+    /**
+     * Returns the binder of the given field.
+     *
+     * @param field A field of an attribute class
+     * @return A field binder
+     */
+    static FieldBinder of(Field field) {
+        for (FieldBinder binder : BINDERS.get(field.getDeclaringClass())) {
+            if (binder.field.equals(field)) {
+                return binder;
+            }
+        }
+        return new FieldBinder(field);
+    }
+
+    /**
+     * Assigns the given value to the field of the given object.
+     *
+     * @param target The object with the field
+     * @param value The new value
+     * @throws IllegalArgumentException If the value cannot be assigned to the field type
+     * @throws IllegalAccessException If the field is not accessible
+     */
+    void set(Object target, Object value) throws IllegalArgumentException, IllegalAccessException {
+        final MethodHandle setter = this.setter;
+        if (setter == null) {
+            field.set(target, value);
+            return;
+        }
+        try {
+            setter.invokeExact(target, value);
+        } catch (ClassCastException | NullPointerException e) {
+            throw new IllegalArgumentException("Cannot assign " + value + " to " + field, e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
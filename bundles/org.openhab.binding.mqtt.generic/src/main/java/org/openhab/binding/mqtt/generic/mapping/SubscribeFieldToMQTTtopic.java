@@ -41,6 +41,7 @@ public class SubscribeFieldToMQTTtopic implements MqttMessageSubscriber {
     private final Logger logger = LoggerFactory.getLogger(SubscribeFieldToMQTTtopic.class);
     protected CompletableFuture<@Nullable Void> future = new CompletableFuture<>();
     public final Field field;
+    private final FieldBinder binder;
     public final FieldChanged changeConsumer;
     public final String topic;
     private final ScheduledExecutorService scheduler;
@@ -69,6 +70,7 @@ public class SubscribeFieldToMQTTtopic implements MqttMessageSubscriber {
             String topic, boolean mandatory) {
         this.scheduler = scheduler;
         this.field = field;
+        this.binder = FieldBinder.of(field);
         this.changeConsumer = fieldChangeListener;
         this.topic = topic;
         this.mandatory = mandatory;
@@ -142,7 +144,7 @@ public class SubscribeFieldToMQTTtopic implements MqttMessageSubscriber {
         String valueStr = new String(payload, StandardCharsets.UTF_8);
 
         // Check if there is a manipulation annotation attached to the field
-        final MQTTvalueTransform transform = field.getAnnotation(MQTTvalueTransform.class);
+        final MQTTvalueTransform transform = binder.transform;
         Object value;
         if (transform != null) {
             // Add a prefix/suffix to the value
@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+
+/**
+ * Publishes values to MQTT, but sends at most one value per topic within a given time window.
+ * <p>
+ * The first value for a topic is published right away. Values that follow within the window are
+ * held back and only the latest one is published when the window has passed. All callers of a
+ * held back value get the same future, which completes with the result of that publish.
+ * Publishes are not serialized, so several QoS 1 messages can be in flight at the same time.
+ * </p>
+ * There is one instance per broker connection, see {@link #forConnection(MqttBrokerConnection)}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CoalescingPublisher {
+    private static final Map<MqttBrokerConnection, CoalescingPublisher> PUBLISHERS = Collections
+            .synchronizedMap(new WeakHashMap<>());
+
+    private final Map<String, TopicQueue> topics = new ConcurrentHashMap<>();
+
+    private static class TopicQueue {
+        boolean published;
+        long lastPublishNanos;
+        boolean removed;
+        @Nullable
+        PendingPublish pending;
+    }
+
+    private static class PendingPublish {
+        byte[] payload;
+        int qos;
+        boolean retain;
+        final CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        PendingPublish(byte[] payload, int qos, boolean retain) {
+            this.payload = payload;
+            this.qos = qos;
+            this.retain = retain;
+        }
+    }
+
+    /**
+     * Returns the publisher of the given broker connection.
+     *
+     * @param connection A broker connection
+     * @return The publisher for that connection
+     */
+    public static CoalescingPublisher forConnection(MqttBrokerConnection connection) {
+        // The publisher must not reference the connection, otherwise the weak key is never released
+        return PUBLISHERS.computeIfAbsent(connection, c -> new CoalescingPublisher());
+    }
+
+    /**
+     * Publishes the given value or holds it back if a value has been published to the same topic within the window.
+     *
+     * @param connection The broker connection of this publisher
+     * @param scheduler A scheduler to publish held back values
+     * @param topic The topic
+     * @param payload The payload
+     * @param qos The QoS
+     * @param retain True if this is a retained message
+     * @param windowMillis The minimum time between two publishes to the topic in milliseconds
+     * @return A future that completes with the result of the publish that carries this or a newer value
+     */
+    public CompletableFuture<Boolean> publish(MqttBrokerConnection connection, ScheduledExecutorService scheduler,
+            String topic, byte[] payload, int qos, boolean retain, int windowMillis) {
+        final long windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        while (true) {
+            final TopicQueue queue = topics.computeIfAbsent(topic, t -> new TopicQueue());
+            synchronized (queue) {
+                if (queue.removed) {
+                    // The window of the topic passed in the meantime, start over with a new one
+                    continue;
+                }
+                final PendingPublish pending = queue.pending;
+                if (pending != null) {
+                    // Replace the held back value, it has not been sent yet
+                    pending.payload = payload;
+                    pending.qos = qos;
+                    pending.retain = retain;
+                    return pending.future;
+                }
+                final long now = System.nanoTime();
+                final long remainingNanos = windowNanos - (now - queue.lastPublishNanos);
+                if (!queue.published || remainingNanos <= 0) {
+                    queue.published = true;
+                    queue.lastPublishNanos = now;
+                    scheduleRemoval(scheduler, topic, queue, windowNanos);
+                    return connection.publish(topic, payload, qos, retain);
+                }
+                final PendingPublish newPending = new PendingPublish(payload, qos, retain);
+                try {
+                    scheduler.schedule(() -> publishPending(connection, scheduler, topic, queue, windowNanos),
+                            remainingNanos, TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    newPending.future.completeExceptionally(e);
+                    return newPending.future;
+                }
+                // Only set after scheduling succeeded, so that no value is held back without a publish to come
+                queue.pending = newPending;
+                return newPending.future;
+            }
+        }
+    }
+
+    private void publishPending(MqttBrokerConnection connection, ScheduledExecutorService scheduler, String topic,
+            TopicQueue queue, long windowNanos) {
+        final PendingPublish pending;
+        synchronized (queue) {
+            pending = queue.pending;
+            if (pending == null) {
+                return;
+            }
+            queue.pending = null;
+            queue.lastPublishNanos = System.nanoTime();
+            scheduleRemoval(scheduler, topic, queue, windowNanos);
+        }
+        connection.publish(topic, pending.payload, pending.qos, pending.retain).whenComplete((result, e) -> {
+            if (e != null) {
+                pending.future.completeExceptionally(e);
+            } else {
+                pending.future.complete(result);
+            }
+        });
+    }
+
+    /**
+     * Forgets the topic once its window has passed without another value, so that topics do not accumulate.
+     */
+    private void scheduleRemoval(ScheduledExecutorService scheduler, String topic, TopicQueue queue,
+            long windowNanos) {
+        try {
+            scheduler.schedule(() -> {
+                synchronized (queue) {
+                    if (queue.pending == null && System.nanoTime() - queue.lastPublishNanos >= windowNanos) {
+                        queue.removed = true;
+                        topics.remove(topic, queue);
+                    }
+                }
+            }, windowNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // The scheduler is shutting down, the topic is forgotten together with this publisher
+        }
+    }
+}
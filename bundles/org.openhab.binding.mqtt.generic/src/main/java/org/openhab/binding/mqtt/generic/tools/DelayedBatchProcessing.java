@@ -13,20 +13,30 @@
 package org.openhab.binding.mqtt.generic.tools;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 
 /**
- * Collects objects over time until a specified delay passed by.
+ * Collects objects over time until a specified delay passed by since the first object of the batch
+ * or a maximum batch size is reached, whichever comes first.
  * Then call the user back with a list of accumulated objects and start over again.
+ * <p>
+ * Objects are collected in a lock-free queue and the timer is only scheduled once per batch,
+ * so many producers can add objects concurrently, e.g. during a discovery burst. As the timer is
+ * not restarted by later objects, a steady stream of objects is still delivered at least once per delay.
+ * </p>
  *
  * @author David Graeff - Initial contribution
  *
@@ -35,37 +45,74 @@ import org.eclipse.jdt.annotation.Nullable;
 @NonNullByDefault
 public class DelayedBatchProcessing<T> implements Consumer<T> {
     private final int delay;
+    private final int maxBatchSize;
     private final Consumer<List<T>> consumer;
-    private final List<T> queue = Collections.synchronizedList(new ArrayList<>());
+    private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
     private final ScheduledExecutorService executor;
     protected final AtomicReference<@Nullable ScheduledFuture<?>> futureRef = new AtomicReference<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    // Statistics
+    private final LongAdder acceptedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder fullBatchCount = new LongAdder();
+    private final AtomicInteger maxPending = new AtomicInteger();
 
     /**
-     * Creates a {@link DelayedBatchProcessing}.
+     * Creates a {@link DelayedBatchProcessing} without a maximum batch size.
      *
-     * @param delay A delay in milliseconds
+     * @param delay The maximum delay of an object in milliseconds
      * @param consumer A consumer of the list of collected objects
      * @param executor A scheduled executor service
      */
     public DelayedBatchProcessing(int delay, Consumer<List<T>> consumer, ScheduledExecutorService executor) {
+        this(delay, Integer.MAX_VALUE, consumer, executor);
+    }
+
+    /**
+     * Creates a {@link DelayedBatchProcessing}.
+     *
+     * @param delay The maximum delay of an object in milliseconds
+     * @param maxBatchSize The number of collected objects that causes an immediate delivery
+     * @param consumer A consumer of the list of collected objects
+     * @param executor A scheduled executor service
+     */
+    public DelayedBatchProcessing(int delay, int maxBatchSize, Consumer<List<T>> consumer,
+            ScheduledExecutorService executor) {
         this.delay = delay;
+        this.maxBatchSize = maxBatchSize;
         this.consumer = consumer;
         this.executor = executor;
         if (delay <= 0) {
             throw new IllegalArgumentException("Delay need to be greater than 0!");
         }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Maximum batch size need to be greater than 0!");
+        }
     }
 
     /**
-     * Add new object to the batch process list. Every time a new object is received,
-     * the delay timer is rescheduled.
+     * Add new object to the batch process list. The first object of a batch starts the delay
+     * timer. If the maximum batch size is reached, the collected objects are delivered right away.
      *
      * @param t An object
      */
     @Override
     public void accept(T t) {
         queue.add(t);
-        cancel(futureRef.getAndSet(executor.schedule(this::run, delay, TimeUnit.MILLISECONDS)));
+        acceptedCount.increment();
+        int size = pending.incrementAndGet();
+        maxPending.accumulateAndGet(size, Math::max);
+
+        if (size == maxBatchSize) {
+            fullBatchCount.increment();
+            cancel(futureRef.getAndSet(null));
+            scheduled.set(true);
+            executor.execute(this::run);
+        } else if (scheduled.compareAndSet(false, true)) {
+            futureRef.set(executor.schedule(this::run, delay, TimeUnit.MILLISECONDS));
+        }
     }
 
     /**
@@ -75,20 +122,15 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      */
     public List<T> join() {
         cancel(futureRef.getAndSet(null));
-        List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
-        }
-        return lqueue;
+        scheduled.set(false);
+        return drain();
     }
 
     /**
-     * Return true if there is a delayed processing going on.
+     * Return true if there is a delayed processing going on, including a delivery because of a full batch.
      */
     public boolean isArmed() {
-        ScheduledFuture<?> scheduledFuture = this.futureRef.get();
-        return scheduledFuture != null && !scheduledFuture.isDone();
+        return scheduled.get();
     }
 
     /**
@@ -99,18 +141,64 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
         run();
     }
 
+    /**
+     * Returns the number of objects that are collected but not yet delivered.
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Returns the highest number of objects that were waiting for delivery at the same time.
+     */
+    public int getMaxPendingCount() {
+        return maxPending.get();
+    }
+
+    /**
+     * Returns the number of objects that were added so far.
+     */
+    public long getAcceptedCount() {
+        return acceptedCount.sum();
+    }
+
+    /**
+     * Returns the number of batches that were delivered to the target consumer.
+     */
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    /**
+     * Returns the number of deliveries that were caused by reaching the maximum batch size
+     * instead of the delay.
+     */
+    public long getFullBatchCount() {
+        return fullBatchCount.sum();
+    }
+
     private void run() {
-        List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
-        }
+        // Reset before draining: Objects added from now on schedule a new timer
+        scheduled.set(false);
+        List<T> lqueue = drain();
 
         if (!lqueue.isEmpty()) {
+            batchCount.increment();
             consumer.accept(lqueue);
         }
     }
 
+    private List<T> drain() {
+        List<T> lqueue = new ArrayList<>();
+        @Nullable
+        T t;
+        while ((t = queue.poll()) != null) {
+            lqueue.add(t);
+        }
+        pending.addAndGet(-lqueue.size());
+        return lqueue;
+    }
+
     private static void cancel(@Nullable ScheduledFuture<?> future) {
         if (future != null) {
             future.cancel(false);
@@ -87,6 +87,36 @@ public class NumberValue extends Value {
         return state.format(formatPattern);
     }
 
+    /**
+     * Plain decimal numbers are by far the most common payload, so they are parsed directly
+     * instead of probing all supported command types.
+     */
+    @Override
+    public @Nullable Command parseCommand(String value) {
+        if (isPlainDecimal(value)) {
+            return new DecimalType(new BigDecimal(value));
+        }
+        return super.parseCommand(value);
+    }
+
+    private static boolean isPlainDecimal(String value) {
+        int length = value.length();
+        int i = (length > 0 && value.charAt(0) == '-') ? 1 : 0;
+        boolean digits = false;
+        boolean dot = false;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                return false;
+            }
+        }
+        return digits;
+    }
+
     @Override
     public void update(Command command) throws IllegalArgumentException {
         DecimalType oldvalue = (state == UnDefType.UNDEF) ? new DecimalType() : (DecimalType) state;
@@ -70,6 +70,17 @@ public class OnOffValue extends Value {
         this.offCommand = offCommand == null ? OnOffType.OFF.name() : offCommand;
     }
 
+    @Override
+    public @Nullable Command parseCommand(String value) {
+        // Same result as probing the supported command types in order, but without reflection
+        if (OnOffType.ON.name().equals(value)) {
+            return OnOffType.ON;
+        } else if (OnOffType.OFF.name().equals(value)) {
+            return OnOffType.OFF;
+        }
+        return new StringType(value);
+    }
+
     @Override
     public void update(Command command) throws IllegalArgumentException {
         if (command instanceof OnOffType) {
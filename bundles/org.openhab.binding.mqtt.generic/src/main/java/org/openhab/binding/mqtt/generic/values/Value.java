@@ -14,8 +14,12 @@ package org.openhab.binding.mqtt.generic.values;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.net.URLConnection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -50,6 +54,8 @@ import org.eclipse.smarthome.core.types.UnDefType;
  */
 @NonNullByDefault
 public abstract class Value {
+    private static final Map<Class<? extends Command>, Method> VALUE_OF_METHODS = new ConcurrentHashMap<>();
+
     protected State state = UnDefType.UNDEF;
     protected final List<Class<? extends Command>> commandTypes;
     private final String itemType;
@@ -79,6 +85,47 @@ public abstract class Value {
         return commandTypes;
     }
 
+    /**
+     * Parses an incoming MQTT value into one of the {@link #getSupportedCommandTypes()}.
+     * <p>
+     * This behaves like {@link org.eclipse.smarthome.core.types.TypeParser#parseCommand(List, String)}, but the
+     * <code>valueOf</code> methods of the command types are only looked up once. Subclasses may override this to
+     * recognize their common payloads without reflection.
+     * </p>
+     *
+     * @param value The incoming value
+     * @return The parsed command or null if none of the supported command types accepts the value
+     */
+    public @Nullable Command parseCommand(String value) {
+        for (Class<? extends Command> type : commandTypes) {
+            Method valueOf = getValueOfMethod(type);
+            if (valueOf == null) {
+                continue;
+            }
+            try {
+                Command command = (Command) valueOf.invoke(type, value);
+                if (command != null) {
+                    return command;
+                }
+            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException ignored) {
+            }
+        }
+        return null;
+    }
+
+    private static @Nullable Method getValueOfMethod(Class<? extends Command> type) {
+        Method valueOf = VALUE_OF_METHODS.get(type);
+        if (valueOf == null) {
+            try {
+                valueOf = type.getMethod("valueOf", String.class);
+            } catch (NoSuchMethodException ignored) {
+                return null;
+            }
+            VALUE_OF_METHODS.put(type, valueOf);
+        }
+        return valueOf;
+    }
+
     /**
      * Returns the item-type (one of {@link CoreItemFactory}).
      */
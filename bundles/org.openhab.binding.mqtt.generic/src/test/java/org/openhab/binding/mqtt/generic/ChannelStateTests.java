@@ -130,6 +130,46 @@ public class ChannelStateTests {
         verify(connection).unsubscribe(eq("state"), eq(c));
     }
 
+    @Test
+    public void publishCoalesceTest() throws InterruptedException, ExecutionException, TimeoutException {
+        ChannelConfig coalesceConfig = ChannelConfigBuilder.create("state", "command").withCoalesceInterval(50)
+                .build();
+        ChannelState c = spy(new ChannelState(coalesceConfig, channelUID, textValue, channelStateUpdateListener));
+        c.start(connection, scheduler, 0).get(50, TimeUnit.MILLISECONDS);
+
+        // The first value is published immediately, the following ones are coalesced
+        c.publishValue(new StringType("1")).get();
+        CompletableFuture<Boolean> second = c.publishValue(new StringType("2"));
+        CompletableFuture<Boolean> third = c.publishValue(new StringType("3"));
+        assertThat(second, is(third));
+
+        third.get(500, TimeUnit.MILLISECONDS);
+        verify(connection).publish(eq("command"), argThat(p -> Arrays.equals(p, "1".getBytes())), anyInt(),
+                eq(false));
+        verify(connection, never()).publish(eq("command"), argThat(p -> Arrays.equals(p, "2".getBytes())), anyInt(),
+                eq(false));
+        verify(connection).publish(eq("command"), argThat(p -> Arrays.equals(p, "3".getBytes())), anyInt(),
+                eq(false));
+    }
+
+    @Test
+    public void publishCoalesceRejectedTest() throws InterruptedException, ExecutionException, TimeoutException {
+        ChannelConfig coalesceConfig = ChannelConfigBuilder.create("state", "rejected").withCoalesceInterval(10000)
+                .build();
+        ChannelState c = spy(new ChannelState(coalesceConfig, channelUID, textValue, channelStateUpdateListener));
+        c.start(connection, scheduler, 0).get(50, TimeUnit.MILLISECONDS);
+
+        c.publishValue(new StringType("1")).get();
+        scheduler.shutdown();
+
+        // A value that cannot be scheduled fails instead of being held back forever
+        CompletableFuture<Boolean> second = c.publishValue(new StringType("2"));
+        CompletableFuture<Boolean> third = c.publishValue(new StringType("3"));
+        assertTrue(second.isCompletedExceptionally());
+        assertTrue(third.isCompletedExceptionally());
+        assertThat(second, is(not(third)));
+    }
+
     @Test
     public void receiveWildcardTest() throws InterruptedException, ExecutionException, TimeoutException {
         ChannelState c = spy(new ChannelState(ChannelConfigBuilder.create("state/+/topic", "command").build(),
@@ -155,6 +195,24 @@ public class ChannelStateTests {
         verify(channelStateUpdateListener).updateChannelState(eq(channelUID), any());
     }
 
+    @Test
+    public void receiveRepeatedPayloadTest() {
+        NumberValue value = spy(new NumberValue(null, null, new BigDecimal(10), null));
+        ChannelState c = spy(new ChannelState(config, channelUID, value, channelStateUpdateListener));
+        c.start(connection, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "INCREASE".getBytes());
+        c.processMessage("state", "INCREASE".getBytes());
+        assertThat(value.getChannelState().toString(), is("20"));
+        // The repeated payload is not parsed again, but still applied and propagated
+        verify(value, times(1)).parseCommand(any());
+        verify(channelStateUpdateListener, times(2)).updateChannelState(eq(channelUID), any());
+
+        c.processMessage("state", "15".getBytes());
+        assertThat(value.getChannelState().toString(), is("15"));
+        verify(value, times(2)).parseCommand(any());
+    }
+
     @Test
     public void receiveDecimalTest() {
         NumberValue value = new NumberValue(null, null, new BigDecimal(10), null);
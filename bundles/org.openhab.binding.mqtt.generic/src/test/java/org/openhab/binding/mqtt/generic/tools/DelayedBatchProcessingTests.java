@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link DelayedBatchProcessing} class.
+ *
+ * @author agent - Initial contribution
+ */
+public class DelayedBatchProcessingTests {
+    private ScheduledExecutorService scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = new ScheduledThreadPoolExecutor(1);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void deliversAfterDelay() throws Exception {
+        CompletableFuture<List<Integer>> result = new CompletableFuture<>();
+        DelayedBatchProcessing<Integer> batch = new DelayedBatchProcessing<>(50, result::complete, scheduler);
+
+        batch.accept(1);
+        batch.accept(2);
+        assertTrue(batch.isArmed());
+        assertThat(batch.getPendingCount(), is(2));
+
+        assertThat(result.get(1, TimeUnit.SECONDS), is(Arrays.asList(1, 2)));
+        assertThat(batch.getPendingCount(), is(0));
+        assertThat(batch.getBatchCount(), is(1L));
+        assertThat(batch.getFullBatchCount(), is(0L));
+    }
+
+    @Test
+    public void deliversWhenBatchIsFull() throws Exception {
+        CompletableFuture<List<Integer>> result = new CompletableFuture<>();
+        DelayedBatchProcessing<Integer> batch = new DelayedBatchProcessing<>(10000, 3, result::complete, scheduler);
+
+        batch.accept(1);
+        batch.accept(2);
+        batch.accept(3);
+
+        assertThat(result.get(1, TimeUnit.SECONDS), is(Arrays.asList(1, 2, 3)));
+        assertThat(batch.getFullBatchCount(), is(1L));
+        assertThat(batch.getAcceptedCount(), is(3L));
+        assertThat(batch.getMaxPendingCount(), is(3));
+    }
+
+    @Test
+    public void joinReturnsPendingObjects() {
+        DelayedBatchProcessing<Integer> batch = new DelayedBatchProcessing<>(10000, list -> fail(), scheduler);
+
+        batch.accept(1);
+        assertThat(batch.join(), is(Arrays.asList(1)));
+        assertFalse(batch.isArmed());
+        assertThat(batch.getPendingCount(), is(0));
+    }
+
+    @Test
+    public void deliversDuringContinuousStream() throws Exception {
+        CompletableFuture<List<Integer>> result = new CompletableFuture<>();
+        DelayedBatchProcessing<Integer> batch = new DelayedBatchProcessing<>(50, result::complete, scheduler);
+
+        // Objects keep arriving more often than the delay, for much longer than the delay
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        int count = 0;
+        while (!result.isDone() && System.nanoTime() < end) {
+            batch.accept(count++);
+            Thread.sleep(5);
+        }
+
+        assertTrue(result.isDone());
+        assertThat(result.get().get(0), is(0));
+        batch.join();
+    }
+
+    @Test
+    public void isArmedUntilFullBatchIsDelivered() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<Integer>> result = new CompletableFuture<>();
+        DelayedBatchProcessing<Integer> batch = new DelayedBatchProcessing<>(10000, 2, result::complete, scheduler);
+
+        // Hold back the delivery
+        scheduler.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        batch.accept(1);
+        batch.accept(2);
+        assertTrue(batch.isArmed());
+
+        release.countDown();
+        assertThat(result.get(1, TimeUnit.SECONDS), is(Arrays.asList(1, 2)));
+        assertFalse(batch.isArmed());
+    }
+}
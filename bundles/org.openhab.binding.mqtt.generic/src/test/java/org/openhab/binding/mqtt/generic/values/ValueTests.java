@@ -314,4 +314,24 @@ public class ValueTests {
                 null);
         v.update(new DecimalType(9.0));
     }
+
+    @Test
+    public void parseCommandMatchesTypeParser() {
+        for (String str : new String[] { "15", "-5.5", "0.25", "1e3", "INCREASE", "UP" }) {
+            NumberValue number = new NumberValue(null, null, null, null);
+            number.update(number.parseCommand(str));
+            NumberValue expected = new NumberValue(null, null, null, null);
+            expected.update(p(expected, str));
+            assertThat(str, number.getChannelState(), is(expected.getChannelState()));
+        }
+        assertNull(new NumberValue(null, null, null, null).parseCommand("abc"));
+
+        OnOffValue onOff = new OnOffValue("fancyON", "fancyOff");
+        for (String str : new String[] { "ON", "OFF", "fancyON", "fancyOff", "1" }) {
+            assertThat(str, onOff.parseCommand(str), is(p(onOff, str)));
+        }
+
+        TextValue text = new TextValue();
+        assertThat(text.parseCommand("A TEST"), is(p(text, "A TEST")));
+    }
 }
@@ -14,8 +14,10 @@ package org.openhab.binding.mqtt.homeassistant.internal;
 
 import java.lang.ref.WeakReference;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -58,6 +60,8 @@ public class DiscoverComponents implements MqttMessageSubscriber {
     protected @NonNullByDefault({}) ComponentDiscovered discoveredListener;
     private int discoverTime;
     private Set<String> topics = new HashSet<>();
+    // Components by config topic, to reuse them if a config is received again unchanged
+    private final Map<String, AbstractComponent<?>> knownComponents = new ConcurrentHashMap<>();
 
     /**
      * Implement this to get notified of new components
@@ -96,8 +100,16 @@ public class DiscoverComponents implements MqttMessageSubscriber {
         AbstractComponent<?> component = null;
 
         if (config.length() > 0) {
-            component = CFactory.createComponent(thingUID, haID, config, updateListener, tracker, gson,
-                    transformationServiceProvider);
+            component = getKnownComponent(topic, config);
+            if (component == null) {
+                component = CFactory.createComponent(thingUID, haID, config, updateListener, tracker, gson,
+                        transformationServiceProvider);
+                if (component != null) {
+                    knownComponents.put(topic, component);
+                }
+            }
+        } else {
+            knownComponents.remove(topic);
         }
         if (component != null) {
             component.setConfigSeen();
@@ -111,6 +123,26 @@ public class DiscoverComponents implements MqttMessageSubscriber {
         }
     }
 
+    /**
+     * Remember a component that has been created from the given configuration already, for example
+     * restored from the channel configuration. If the same configuration is received again on the
+     * component topic, the component is reported as discovered without parsing the configuration again.
+     *
+     * @param component A component
+     */
+    public void addKnownComponent(AbstractComponent<?> component) {
+        knownComponents.put(component.haID.getTopic("config"), component);
+    }
+
+    private @Nullable AbstractComponent<?> getKnownComponent(String topic, String config) {
+        final AbstractComponent<?> known = knownComponents.get(topic);
+        if (known != null && known.getConfigHash() == config.hashCode()
+                && known.channelConfigurationJson.equals(config)) {
+            return known;
+        }
+        return null;
+    }
+
     /**
      * Start a components discovery.
      *
@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -66,6 +67,8 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
     protected final Map<String, Set<HaID>> componentsPerThingID = new TreeMap<>();
     protected final Map<String, ThingUID> thingIDPerTopic = new TreeMap<>();
     protected final Map<String, DiscoveryResult> results = new TreeMap<>();
+    // Parsed configurations by config topic. Retained configs are received again on every reconnect.
+    protected final Map<String, ParsedConfig> configPerTopic = new ConcurrentHashMap<>();
 
     private @Nullable ScheduledFuture<?> future;
     private final Gson gson;
@@ -86,6 +89,19 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
 
     static final String BASE_TOPIC = "homeassistant";
 
+    /**
+     * A configuration payload together with its parsed representation.
+     */
+    protected static class ParsedConfig {
+        final String json;
+        final BaseChannelConfiguration config;
+
+        ParsedConfig(String json, BaseChannelConfiguration config) {
+            this.json = json;
+            this.config = config;
+        }
+    }
+
     @NonNullByDefault({})
     protected MqttChannelTypeProvider typeProvider;
 
@@ -147,8 +163,7 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         }
         this.future = scheduler.schedule(this::publishResults, 2, TimeUnit.SECONDS);
 
-        BaseChannelConfiguration config = BaseChannelConfiguration
-                .fromString(new String(payload, StandardCharsets.UTF_8), gson);
+        BaseChannelConfiguration config = parseConfig(topic, new String(payload, StandardCharsets.UTF_8));
 
         // We will of course find multiple of the same unique Thing IDs, for each different component another one.
         // Therefore the components are assembled into a list and given to the DiscoveryResult label for the user to
@@ -187,6 +202,19 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         }
     }
 
+    /**
+     * Parses the given configuration, unless the same configuration has been parsed for this topic before.
+     */
+    protected BaseChannelConfiguration parseConfig(String topic, String json) {
+        final ParsedConfig parsed = configPerTopic.get(topic);
+        if (parsed != null && parsed.json.equals(json)) {
+            return parsed.config;
+        }
+        BaseChannelConfiguration config = BaseChannelConfiguration.fromString(json, gson);
+        configPerTopic.put(topic, new ParsedConfig(json, config));
+        return config;
+    }
+
     protected void publishResults() {
         Collection<DiscoveryResult> localResults;
 
@@ -209,6 +237,7 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         if (!topic.endsWith("/config")) {
             return;
         }
+        configPerTopic.remove(topic);
         if (thingIDPerTopic.containsKey(topic)) {
             ThingUID thingUID = thingIDPerTopic.remove(topic);
             final String thingID = thingUID.getId();
@@ -48,7 +48,7 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
     private final Logger logger = LoggerFactory.getLogger(AbstractBrokerHandler.class);
 
     final Map<ChannelUID, PublishTriggerChannel> channelStateByChannelUID = new HashMap<>();
-    private final Map<String, @Nullable Map<MQTTTopicDiscoveryParticipant, @Nullable TopicSubscribe>> discoveryTopics = new HashMap<>();
+    private final Map<String, DiscoveryTopicDispatcher> discoveryTopics = new HashMap<>();
 
     protected @Nullable MqttBrokerConnection connection;
     protected CompletableFuture<MqttBrokerConnection> connectionFuture = new CompletableFuture<>();
@@ -116,22 +116,7 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
         });
         connectionFuture.complete(connection);
 
-        discoveryTopics.forEach((topic, listenerMap) -> {
-            listenerMap.replaceAll((listener, oldTopicSubscribe) -> {
-                TopicSubscribe topicSubscribe = new TopicSubscribe(connection, topic, listener, thing.getUID());
-                topicSubscribe.start().handle((result, ex) -> {
-                    if (ex != null) {
-                        logger.warn("Failed to subscribe {} to discovery topic {} on broker {}", listener, topic,
-                                thing.getUID());
-                    } else {
-                        logger.trace("Subscribed {} to discovery topic {} on broker {}", listener, topic,
-                                thing.getUID());
-                    }
-                    return null;
-                });
-                return topicSubscribe;
-            });
-        });
+        discoveryTopics.forEach((topic, dispatcher) -> startDiscoveryTopic(connection, topic, dispatcher));
     }
 
     @Override
@@ -163,10 +148,12 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
         channelStateByChannelUID.clear();
 
         // keep topics, but stop subscriptions
-        discoveryTopics.forEach((topic, listenerMap) -> {
-            listenerMap.forEach((listener, topicSubscribe) -> {
+        discoveryTopics.values().forEach(dispatcher -> {
+            TopicSubscribe topicSubscribe = dispatcher.getTopicSubscribe();
+            if (topicSubscribe != null) {
                 topicSubscribe.stop();
-            });
+            }
+            dispatcher.clearPayloads();
         });
 
         if (connection != null) {
@@ -183,61 +170,70 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
     /**
      * register a discovery listener to a specified topic on this broker (used by the handler factory)
      *
+     * All listeners of the same topic share a single subscription on the broker connection.
+     *
      * @param listener the discovery participant that wishes to be notified about this topic
      * @param topic the topic (wildcards supported)
      */
     public final void registerDiscoveryListener(MQTTTopicDiscoveryParticipant listener, String topic) {
-        Map<MQTTTopicDiscoveryParticipant, @Nullable TopicSubscribe> topicListeners = discoveryTopics
-                .computeIfAbsent(topic, t -> new HashMap<>());
-        topicListeners.compute(listener, (k, v) -> {
-            if (v != null) {
-                logger.warn("Duplicate subscription for {} to discovery topic {} on broker {}. Check discovery logic!",
-                        listener, topic, thing.getUID());
-                v.stop();
-            }
-
-            TopicSubscribe topicSubscribe = new TopicSubscribe(connection, topic, listener, thing.getUID());
-            topicSubscribe.start().handle((result, ex) -> {
-                if (ex != null) {
-                    logger.warn("Failed to subscribe {} to discovery topic {} on broker {}", listener, topic,
-                            thing.getUID());
-                } else {
-                    logger.trace("Subscribed {} to discovery topic {} on broker {}", listener, topic, thing.getUID());
-                }
-                return null;
-            });
-            return topicSubscribe;
-        });
+        DiscoveryTopicDispatcher dispatcher = discoveryTopics.get(topic);
+        if (dispatcher == null) {
+            dispatcher = new DiscoveryTopicDispatcher();
+            dispatcher.add(listener);
+            discoveryTopics.put(topic, dispatcher);
+            startDiscoveryTopic(connection, topic, dispatcher);
+        } else if (!dispatcher.add(listener)) {
+            logger.warn("Duplicate subscription for {} to discovery topic {} on broker {}. Check discovery logic!",
+                    listener, topic, thing.getUID());
+        } else {
+            // the broker does not replay retained messages for an existing subscription, the dispatcher does
+            logger.trace("Added {} to discovery topic {} on broker {}", listener, topic, thing.getUID());
+        }
     }
 
     /**
      * unregisters a discovery listener from a specified topic on this broker (used by the handler factory)
      *
+     * The subscription on the broker connection is only removed once the last listener of the topic is gone.
+     *
      * @param listener the discovery participant that wishes no notifications about this topic
      * @param topic the topic (as specified during registration)
      */
     public final void unregisterDiscoveryListener(MQTTTopicDiscoveryParticipant listener, String topic) {
-        Map<MQTTTopicDiscoveryParticipant, @Nullable TopicSubscribe> topicListeners = discoveryTopics.compute(topic,
-                (k, v) -> {
-                    if (v == null) {
-                        logger.warn(
-                                "Tried to unsubscribe {} from  discovery topic {} on broker {} but topic not registered at all. Check discovery logic!",
-                                listener, topic, thing.getUID());
-                        return null;
-                    }
-                    v.compute(listener, (l, w) -> {
-                        if (w == null) {
-                            logger.warn(
-                                    "Tried to unsubscribe {} from  discovery topic {} on broker {} but topic not registered for listener. Check discovery logic!",
-                                    listener, topic, thing.getUID());
-                        } else {
-                            w.stop();
-                            logger.trace("Unsubscribed {} from discovery topic {} on broker {}", listener, topic,
-                                    thing.getUID());
-                        }
-                        return null;
-                    });
-                    return v.isEmpty() ? null : v;
-                });
+        DiscoveryTopicDispatcher dispatcher = discoveryTopics.get(topic);
+        if (dispatcher == null) {
+            logger.warn(
+                    "Tried to unsubscribe {} from  discovery topic {} on broker {} but topic not registered at all. Check discovery logic!",
+                    listener, topic, thing.getUID());
+            return;
+        }
+        if (!dispatcher.remove(listener)) {
+            logger.warn(
+                    "Tried to unsubscribe {} from  discovery topic {} on broker {} but topic not registered for listener. Check discovery logic!",
+                    listener, topic, thing.getUID());
+            return;
+        }
+        logger.trace("Unsubscribed {} from discovery topic {} on broker {}", listener, topic, thing.getUID());
+        if (dispatcher.isEmpty()) {
+            discoveryTopics.remove(topic);
+            TopicSubscribe topicSubscribe = dispatcher.getTopicSubscribe();
+            if (topicSubscribe != null) {
+                topicSubscribe.stop();
+            }
+        }
+    }
+
+    private void startDiscoveryTopic(@Nullable MqttBrokerConnection connection, String topic,
+            DiscoveryTopicDispatcher dispatcher) {
+        TopicSubscribe topicSubscribe = new TopicSubscribe(connection, topic, dispatcher, thing.getUID());
+        dispatcher.setTopicSubscribe(topicSubscribe);
+        topicSubscribe.start().handle((result, ex) -> {
+            if (ex != null) {
+                logger.warn("Failed to subscribe to discovery topic {} on broker {}", topic, thing.getUID());
+            } else {
+                logger.trace("Subscribed to discovery topic {} on broker {}", topic, thing.getUID());
+            }
+            return null;
+        });
     }
 }
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.handler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.binding.mqtt.discovery.MQTTTopicDiscoveryParticipant;
+import org.openhab.binding.mqtt.discovery.TopicSubscribe;
+
+/**
+ * Fans out the messages of a single discovery topic subscription to all participants that
+ * registered for that topic. The broker connection therefore only knows one subscriber per
+ * discovery topic, no matter how many participants are interested in it.
+ *
+ * As the broker only replays retained messages on a new subscription, the last payload of every
+ * topic is kept and replayed to participants which register after the subscription was made.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class DiscoveryTopicDispatcher implements MQTTTopicDiscoveryParticipant {
+    private final Set<MQTTTopicDiscoveryParticipant> participants = new CopyOnWriteArraySet<>();
+    private final Map<String, ReceivedPayload> lastPayloads = new HashMap<>();
+    private @Nullable TopicSubscribe topicSubscribe;
+
+    /**
+     * Adds a participant and delivers the last payload of every known topic to it.
+     * This happens under the dispatcher lock, so that a concurrently received message is delivered to the
+     * participant exactly once, either by the replay or by the dispatch.
+     *
+     * @return false if the participant was already added
+     */
+    synchronized boolean add(MQTTTopicDiscoveryParticipant participant) {
+        if (!participants.add(participant)) {
+            return false;
+        }
+        lastPayloads.forEach((topic, received) -> participant.receivedMessage(received.thingUID,
+                received.connection, topic, received.payload));
+        return true;
+    }
+
+    /**
+     * Forgets the last payloads, e.g. because the connection is gone.
+     */
+    synchronized void clearPayloads() {
+        lastPayloads.clear();
+    }
+
+    boolean remove(MQTTTopicDiscoveryParticipant participant) {
+        return participants.remove(participant);
+    }
+
+    boolean isEmpty() {
+        return participants.isEmpty();
+    }
+
+    @Nullable
+    TopicSubscribe getTopicSubscribe() {
+        return topicSubscribe;
+    }
+
+    void setTopicSubscribe(@Nullable TopicSubscribe topicSubscribe) {
+        this.topicSubscribe = topicSubscribe;
+    }
+
+    @Override
+    public synchronized void receivedMessage(ThingUID thingUID, MqttBrokerConnection connection, String topic,
+            byte[] payload) {
+        lastPayloads.put(topic, new ReceivedPayload(thingUID, connection, payload));
+        for (MQTTTopicDiscoveryParticipant participant : participants) {
+            participant.receivedMessage(thingUID, connection, topic, payload);
+        }
+    }
+
+    @Override
+    public synchronized void topicVanished(ThingUID thingUID, MqttBrokerConnection connection, String topic) {
+        lastPayloads.remove(topic);
+        for (MQTTTopicDiscoveryParticipant participant : participants) {
+            participant.topicVanished(thingUID, connection, topic);
+        }
+    }
+
+    private static class ReceivedPayload {
+        private final ThingUID thingUID;
+        private final MqttBrokerConnection connection;
+        private final byte[] payload;
+
+        ReceivedPayload(ThingUID thingUID, MqttBrokerConnection connection, byte[] payload) {
+            this.thingUID = thingUID;
+            this.connection = connection;
+            this.payload = payload;
+        }
+    }
+}
@@ -12,7 +12,8 @@
  */
 package org.openhab.binding.mqtt.internal;
 
-import static org.junit.Assert.assertTrue;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -59,6 +60,9 @@ public class MQTTTopicDiscoveryServiceTest {
     @Mock
     MQTTTopicDiscoveryParticipant listener;
 
+    @Mock
+    MQTTTopicDiscoveryParticipant otherListener;
+
     private MqttBrokerConnectionEx connection;
 
     private BrokerHandler handler;
@@ -151,4 +155,45 @@ public class MQTTTopicDiscoveryServiceTest {
                 .forEach(s -> s.processMessage("topic", bytes));
         verify(listener).topicVanished(eq(thing.getUID()), eq(connection), eq("topic"));
     }
+
+    @Test
+    public void listenersShareSubscription() {
+        handler.initialize();
+        BrokerHandlerEx.verifyCreateBrokerConnection(handler, 1);
+
+        subject.createdHandler(handler);
+        subject.subscribe(listener, "topic");
+        subject.subscribe(otherListener, "topic");
+        assertThat(connection.getSubscribers().get("topic").size(), is(1));
+
+        // Simulate receiving
+        final byte[] bytes = "TEST".getBytes();
+        connection.getSubscribers().get("topic").forEach(s -> s.processMessage("topic", bytes));
+        verify(listener).receivedMessage(eq(thing.getUID()), eq(connection), eq("topic"), eq(bytes));
+        verify(otherListener).receivedMessage(eq(thing.getUID()), eq(connection), eq("topic"), eq(bytes));
+
+        // The subscription is kept until the last listener is gone
+        subject.unsubscribe(listener);
+        assertThat(connection.getSubscribers().get("topic").size(), is(1));
+    }
+
+    @Test
+    public void lateListenerReceivesLastPayloads() {
+        handler.initialize();
+        BrokerHandlerEx.verifyCreateBrokerConnection(handler, 1);
+
+        subject.createdHandler(handler);
+        subject.subscribe(listener, "topic/#");
+
+        // Simulate receiving retained messages before the other listener registers
+        final byte[] bytes = "TEST".getBytes();
+        connection.getSubscribers().get("topic/#").forEach(s -> s.processMessage("topic/a", bytes));
+        connection.getSubscribers().get("topic/#").forEach(s -> s.processMessage("topic/b", bytes));
+        connection.getSubscribers().get("topic/#").forEach(s -> s.processMessage("topic/b", new byte[0]));
+
+        subject.subscribe(otherListener, "topic/#");
+        verify(otherListener).receivedMessage(eq(thing.getUID()), eq(connection), eq("topic/a"), eq(bytes));
+        verify(otherListener, never()).receivedMessage(eq(thing.getUID()), eq(connection), eq("topic/b"), any());
+        verify(listener, times(1)).receivedMessage(eq(thing.getUID()), eq(connection), eq("topic/a"), eq(bytes));
+    }
 }
@@ -22,15 +22,22 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.apache.commons.lang.StringEscapeUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.XMLReader;
@@ -58,6 +65,15 @@ public class SonosXMLParser {
                     + "<desc id=\"cdudn\" nameSpace=\"urn:schemas-rinconnetworks-com:metadata-1-0/\">" + "{4}</desc>"
                     + "</item></DIDL-Lite>");
 
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXMLInputFactory();
+
+    private static final DefaultHandler EMPTY_HANDLER = new DefaultHandler();
+
+    /**
+     * SAX reader of the current thread. It is taken out while parsing, so that a nested parse gets its own reader.
+     */
+    private static final ThreadLocal<@Nullable XMLReader> READERS = new ThreadLocal<>();
+
     private enum Element {
         TITLE,
         CLASS,
@@ -83,6 +99,34 @@ public class SonosXMLParser {
         desc
     }
 
+    private static XMLInputFactory createXMLInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * Parses the source with the SAX reader of the current thread, creating the reader on first use.
+     */
+    private static void parse(ContentHandler handler, InputSource source) throws IOException, SAXException {
+        XMLReader reader = READERS.get();
+        if (reader == null) {
+            reader = XMLReaderFactory.createXMLReader();
+        } else {
+            READERS.remove();
+        }
+        try {
+            reader.setContentHandler(handler);
+            reader.parse(source);
+        } finally {
+            // do not keep the handler and its results reachable from the thread
+            reader.setContentHandler(EMPTY_HANDLER);
+            READERS.set(reader);
+        }
+    }
+
     /**
      * @param xml
      * @return a list of alarms from the given xml string.
@@ -92,9 +136,7 @@ public class SonosXMLParser {
     public static List<SonosAlarm> getAlarmsFromStringResult(String xml) {
         AlarmHandler handler = new AlarmHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             LOGGER.error("Could not parse Alarms from string '{}'", xml);
         } catch (SAXException s) {
@@ -112,9 +154,7 @@ public class SonosXMLParser {
     public static List<SonosEntry> getEntriesFromString(String xml) {
         EntryHandler handler = new EntryHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             LOGGER.error("Could not parse Entries from string '{}'", xml);
         } catch (SAXException s) {
@@ -133,11 +173,9 @@ public class SonosXMLParser {
      * @throws SAXException
      */
     public static @Nullable SonosResourceMetaData getResourceMetaData(String xml) throws SAXException {
-        XMLReader reader = XMLReaderFactory.createXMLReader();
         ResourceMetaDataHandler handler = new ResourceMetaDataHandler();
-        reader.setContentHandler(handler);
         try {
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             LOGGER.error("Could not parse Resource MetaData from String '{}'", xml);
         } catch (SAXException s) {
@@ -156,9 +194,7 @@ public class SonosXMLParser {
     public static List<SonosZoneGroup> getZoneGroupFromXML(String xml) {
         ZoneGroupHandler handler = new ZoneGroupHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse ZoneGroup from string '{}'", xml);
@@ -172,9 +208,7 @@ public class SonosXMLParser {
     public static List<String> getRadioTimeFromXML(String xml) {
         OpmlHandler handler = new OpmlHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse RadioTime from string '{}'", xml);
@@ -186,41 +220,122 @@ public class SonosXMLParser {
     }
 
     public static Map<String, @Nullable String> getRenderingControlFromXML(String xml) {
-        RenderingControlEventHandler handler = new RenderingControlEventHandler();
+        Map<String, @Nullable String> changes = new HashMap<>();
+        decodeRenderingControlEvent(xml, changes::put);
+        return changes;
+    }
+
+    public static Map<String, @Nullable String> getAVTransportFromXML(String xml) {
+        Map<String, @Nullable String> changes = new HashMap<>();
+        decodeAVTransportEvent(xml, changes::put);
+        return changes;
+    }
+
+    /**
+     * Decodes the LastChange event of the RenderingControl service, passing the variables to the consumer in document
+     * order without collecting them first.
+     *
+     * Volume, Mute and Loudness are reported per channel, their variable name is suffixed with the channel.
+     *
+     * @param xml the LastChange value
+     * @param consumer the consumer of the variable names and values
+     */
+    public static void decodeRenderingControlEvent(String xml, BiConsumer<String, String> consumer) {
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
-        } catch (IOException e) {
-            // This should never happen - we're not performing I/O!
-            LOGGER.error("Could not parse Rendering Control from string '{}'", xml);
-        } catch (SAXException s) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(xml));
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                        continue;
+                    }
+                    String name = reader.getLocalName();
+                    String val;
+                    switch (name) {
+                        case "Volume":
+                        case "Mute":
+                        case "Loudness":
+                            String channel = reader.getAttributeValue(null, "channel");
+                            val = reader.getAttributeValue(null, "val");
+                            if (channel != null && val != null) {
+                                consumer.accept(name + channel, val);
+                            }
+                            break;
+                        case "Bass":
+                        case "Treble":
+                        case "OutputFixed":
+                            val = reader.getAttributeValue(null, "val");
+                            if (val != null) {
+                                consumer.accept(name, val);
+                            }
+                            break;
+                        case "PresetNameList":
+                            val = reader.getElementText();
+                            if (!val.isEmpty()) {
+                                consumer.accept(name, val);
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
             LOGGER.error("Could not parse Rendering Control from string '{}'", xml);
         }
-        return handler.getChanges();
     }
 
-    public static Map<String, @Nullable String> getAVTransportFromXML(String xml) {
-        AVTransportEventHandler handler = new AVTransportEventHandler();
+    /**
+     * Decodes the LastChange event of the AVTransport service, passing the variables to the consumer in document
+     * order without collecting them first.
+     *
+     * @param xml the LastChange value
+     * @param consumer the consumer of the variable names and values
+     */
+    public static void decodeAVTransportEvent(String xml, BiConsumer<String, String> consumer) {
+        /*
+         * The events are all of the form <qName val="value"/> so we can get all
+         * the info we need from the start elements, e.g.
+         *
+         * <Event xmlns="urn:schemas-upnp-org:metadata-1-0/AVT/" xmlns:r="urn:schemas-rinconnetworks-com:metadata-1-0/">
+         * <InstanceID val="0">
+         * <TransportState val="PLAYING"/>
+         * <CurrentPlayMode val="NORMAL"/>
+         * <NumberOfTracks val="29"/>
+         * <CurrentTrack val="12"/>
+         * <CurrentTrackDuration val="0:03:02"/>
+         * <r:SleepTimerGeneration val="0"/>
+         * <AVTransportURI val="x-rincon-queue:RINCON_000E5812BC1801400#0"/>
+         * <AVTransportURIMetaData val=""/>
+         * <CurrentTransportActions val="Play, Stop, Pause, Seek, Next, Previous"/>
+         * <NextAVTransportURI val="NOT_IMPLEMENTED"/>
+         * </InstanceID>
+         * </Event>
+         */
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
-        } catch (IOException e) {
-            // This should never happen - we're not performing I/O!
-            LOGGER.error("Could not parse AV Transport from string '{}'", xml);
-        } catch (SAXException s) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(xml));
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                        String val = reader.getAttributeValue(null, "val");
+                        if (val != null) {
+                            consumer.accept(reader.getLocalName(), val);
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
             LOGGER.error("Could not parse AV Transport from string '{}'", xml);
         }
-        return handler.getChanges();
     }
 
     public static SonosMetaData getMetaDataFromXML(String xml) {
         MetaDataHandler handler = new MetaDataHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse MetaData from string '{}'", xml);
@@ -234,9 +349,7 @@ public class SonosXMLParser {
     public static List<SonosMusicService> getMusicServicesFromXML(String xml) {
         MusicServiceHandler handler = new MusicServiceHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse music services from string '{}'", xml);
@@ -655,80 +768,6 @@ public class SonosXMLParser {
         }
     }
 
-    private static class AVTransportEventHandler extends DefaultHandler {
-
-        /*
-         * <Event xmlns="urn:schemas-upnp-org:metadata-1-0/AVT/" xmlns:r="urn:schemas-rinconnetworks-com:metadata-1-0/">
-         * <InstanceID val="0">
-         * <TransportState val="PLAYING"/>
-         * <CurrentPlayMode val="NORMAL"/>
-         * <CurrentPlayMode val="0"/>
-         * <NumberOfTracks val="29"/>
-         * <CurrentTrack val="12"/>
-         * <CurrentSection val="0"/>
-         * <CurrentTrackURI val=
-         * "x-file-cifs://192.168.1.1/Storage4/Sonos%20Music/Queens%20Of%20The%20Stone%20Age/Lullabies%20To%20Paralyze/Queens%20Of%20The%20Stone%20Age%20-%20Lullabies%20To%20Paralyze%20-%2012%20-%20Broken%20Box.wma"
-         * />
-         * <CurrentTrackDuration val="0:03:02"/>
-         * <CurrentTrackMetaData val=
-         * "&lt;DIDL-Lite xmlns:dc=&quot;http://purl.org/dc/elements/1.1/&quot; xmlns:upnp=&quot;urn:schemas-upnp-org:metadata-1-0/upnp/&quot; xmlns:r=&quot;urn:schemas-rinconnetworks-com:metadata-1-0/&quot; xmlns=&quot;urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/&quot;&gt;&lt;item id=&quot;-1&quot; parentID=&quot;-1&quot; restricted=&quot;true&quot;&gt;&lt;res protocolInfo=&quot;x-file-cifs:*:audio/x-ms-wma:*&quot; duration=&quot;0:03:02&quot;&gt;x-file-cifs://192.168.1.1/Storage4/Sonos%20Music/Queens%20Of%20The%20Stone%20Age/Lullabies%20To%20Paralyze/Queens%20Of%20The%20Stone%20Age%20-%20Lullabies%20To%20Paralyze%20-%2012%20-%20Broken%20Box.wma&lt;/res&gt;&lt;r:streamContent&gt;&lt;/r:streamContent&gt;&lt;dc:title&gt;Broken Box&lt;/dc:title&gt;&lt;upnp:class&gt;object.item.audioItem.musicTrack&lt;/upnp:class&gt;&lt;dc:creator&gt;Queens Of The Stone Age&lt;/dc:creator&gt;&lt;upnp:album&gt;Lullabies To Paralyze&lt;/upnp:album&gt;&lt;r:albumArtist&gt;Queens Of The Stone Age&lt;/r:albumArtist&gt;&lt;/item&gt;&lt;/DIDL-Lite&gt;"
-         * /><r:NextTrackURI val=
-         * "x-file-cifs://192.168.1.1/Storage4/Sonos%20Music/Queens%20Of%20The%20Stone%20Age/Lullabies%20To%20Paralyze/Queens%20Of%20The%20Stone%20Age%20-%20Lullabies%20To%20Paralyze%20-%2013%20-%20&apos;&apos;You%20Got%20A%20Killer%20Scene%20There,%20Man...&apos;&apos;.wma"
-         * /><r:NextTrackMetaData val=
-         * "&lt;DIDL-Lite xmlns:dc=&quot;http://purl.org/dc/elements/1.1/&quot; xmlns:upnp=&quot;urn:schemas-upnp-org:metadata-1-0/upnp/&quot; xmlns:r=&quot;urn:schemas-rinconnetworks-com:metadata-1-0/&quot; xmlns=&quot;urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/&quot;&gt;&lt;item id=&quot;-1&quot; parentID=&quot;-1&quot; restricted=&quot;true&quot;&gt;&lt;res protocolInfo=&quot;x-file-cifs:*:audio/x-ms-wma:*&quot; duration=&quot;0:04:56&quot;&gt;x-file-cifs://192.168.1.1/Storage4/Sonos%20Music/Queens%20Of%20The%20Stone%20Age/Lullabies%20To%20Paralyze/Queens%20Of%20The%20Stone%20Age%20-%20Lullabies%20To%20Paralyze%20-%2013%20-%20&amp;apos;&amp;apos;You%20Got%20A%20Killer%20Scene%20There,%20Man...&amp;apos;&amp;apos;.wma&lt;/res&gt;&lt;dc:title&gt;&amp;apos;&amp;apos;You Got A Killer Scene There, Man...&amp;apos;&amp;apos;&lt;/dc:title&gt;&lt;upnp:class&gt;object.item.audioItem.musicTrack&lt;/upnp:class&gt;&lt;dc:creator&gt;Queens Of The Stone Age&lt;/dc:creator&gt;&lt;upnp:album&gt;Lullabies To Paralyze&lt;/upnp:album&gt;&lt;r:albumArtist&gt;Queens Of The Stone Age&lt;/r:albumArtist&gt;&lt;/item&gt;&lt;/DIDL-Lite&gt;"
-         * /><r:EnqueuedTransportURI
-         * val="x-rincon-playlist:RINCON_000E582126EE01400#A:ALBUMARTIST/Queens%20Of%20The%20Stone%20Age"/><r:
-         * EnqueuedTransportURIMetaData val=
-         * "&lt;DIDL-Lite xmlns:dc=&quot;http://purl.org/dc/elements/1.1/&quot; xmlns:upnp=&quot;urn:schemas-upnp-org:metadata-1-0/upnp/&quot; xmlns:r=&quot;urn:schemas-rinconnetworks-com:metadata-1-0/&quot; xmlns=&quot;urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/&quot;&gt;&lt;item id=&quot;A:ALBUMARTIST/Queens%20Of%20The%20Stone%20Age&quot; parentID=&quot;A:ALBUMARTIST&quot; restricted=&quot;true&quot;&gt;&lt;dc:title&gt;Queens Of The Stone Age&lt;/dc:title&gt;&lt;upnp:class&gt;object.container&lt;/upnp:class&gt;&lt;desc id=&quot;cdudn&quot; nameSpace=&quot;urn:schemas-rinconnetworks-com:metadata-1-0/&quot;&gt;RINCON_AssociatedZPUDN&lt;/desc&gt;&lt;/item&gt;&lt;/DIDL-Lite&gt;"
-         * />
-         * <PlaybackStorageMedium val="NETWORK"/>
-         * <AVTransportURI val="x-rincon-queue:RINCON_000E5812BC1801400#0"/>
-         * <AVTransportURIMetaData val=""/>
-         * <CurrentTransportActions val="Play, Stop, Pause, Seek, Next, Previous"/>
-         * <TransportStatus val="OK"/>
-         * <r:SleepTimerGeneration val="0"/>
-         * <r:AlarmRunning val="0"/>
-         * <r:SnoozeRunning val="0"/>
-         * <r:RestartPending val="0"/>
-         * <TransportPlaySpeed val="NOT_IMPLEMENTED"/>
-         * <CurrentMediaDuration val="NOT_IMPLEMENTED"/>
-         * <RecordStorageMedium val="NOT_IMPLEMENTED"/>
-         * <PossiblePlaybackStorageMedia val="NONE, NETWORK"/>
-         * <PossibleRecordStorageMedia val="NOT_IMPLEMENTED"/>
-         * <RecordMediumWriteStatus val="NOT_IMPLEMENTED"/>
-         * <CurrentRecordQualityMode val="NOT_IMPLEMENTED"/>
-         * <PossibleRecordQualityModes val="NOT_IMPLEMENTED"/>
-         * <NextAVTransportURI val="NOT_IMPLEMENTED"/>
-         * <NextAVTransportURIMetaData val="NOT_IMPLEMENTED"/>
-         * </InstanceID>
-         * </Event>
-         */
-
-        private final Map<String, @Nullable String> changes = new HashMap<>();
-
-        @Override
-        public void startElement(@Nullable String uri, @Nullable String localName, @Nullable String qName,
-                @Nullable Attributes attributes) throws SAXException {
-            /*
-             * The events are all of the form <qName val="value"/> so we can get all
-             * the info we need from here.
-             */
-            if (localName == null) {
-                // this means that localName isn't defined in EventType, which is expected for some elements
-                LOGGER.info("{} is not defined in EventType. ", localName);
-            } else {
-                String val = attributes == null ? null : attributes.getValue("val");
-                if (val != null) {
-                    changes.put(localName, val);
-                }
-            }
-        }
-
-        public Map<String, @Nullable String> getChanges() {
-            return changes;
-        }
-    }
-
     private static class MetaDataHandler extends DefaultHandler {
 
         private @Nullable CurrentElement currentElement;
@@ -832,71 +871,6 @@ public class SonosXMLParser {
         }
     }
 
-    private static class RenderingControlEventHandler extends DefaultHandler {
-
-        private final Map<String, @Nullable String> changes = new HashMap<>();
-
-        private boolean getPresetName = false;
-        private @Nullable String presetName;
-
-        @Override
-        public void startElement(@Nullable String uri, @Nullable String localName, @Nullable String qName,
-                @Nullable Attributes attributes) throws SAXException {
-            if (qName == null) {
-                return;
-            }
-            String channel;
-            String val;
-            switch (qName) {
-                case "Volume":
-                case "Mute":
-                case "Loudness":
-                    channel = attributes == null ? null : attributes.getValue("channel");
-                    val = attributes == null ? null : attributes.getValue("val");
-                    if (channel != null && val != null) {
-                        changes.put(qName + channel, val);
-                    }
-                    break;
-                case "Bass":
-                case "Treble":
-                case "OutputFixed":
-                    val = attributes == null ? null : attributes.getValue("val");
-                    if (val != null) {
-                        changes.put(qName, val);
-                    }
-                    break;
-                case "PresetNameList":
-                    getPresetName = true;
-                    break;
-                default:
-                    break;
-            }
-        }
-
-        @Override
-        public void characters(char @Nullable [] ch, int start, int length) throws SAXException {
-            if (getPresetName) {
-                presetName = new String(ch, start, length);
-            }
-        }
-
-        @Override
-        public void endElement(@Nullable String uri, @Nullable String localName, @Nullable String qName)
-                throws SAXException {
-            if (getPresetName) {
-                getPresetName = false;
-                String preset = presetName;
-                if (qName != null && preset != null) {
-                    changes.put(qName, preset);
-                }
-            }
-        }
-
-        public Map<String, @Nullable String> getChanges() {
-            return changes;
-        }
-    }
-
     private static class MusicServiceHandler extends DefaultHandler {
 
         private final List<SonosMusicService> services = new ArrayList<>();
@@ -919,10 +893,8 @@ public class SonosXMLParser {
     public static @Nullable String getRoomName(String descriptorXML) {
         RoomNameHandler roomNameHandler = new RoomNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(roomNameHandler);
             URL url = new URL(descriptorXML);
-            reader.parse(new InputSource(url.openStream()));
+            parse(roomNameHandler, new InputSource(url.openStream()));
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos room name from string '{}'", descriptorXML);
         }
@@ -958,10 +930,8 @@ public class SonosXMLParser {
     public static @Nullable String parseModelDescription(URL descriptorURL) {
         ModelNameHandler modelNameHandler = new ModelNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(modelNameHandler);
             URL url = new URL(descriptorURL.toString());
-            reader.parse(new InputSource(url.openStream()));
+            parse(modelNameHandler, new InputSource(url.openStream()));
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos model name from string '{}'", descriptorURL.toString());
         }
@@ -31,6 +31,7 @@ import java.util.Map;
 import java.util.TimeZone;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -405,32 +406,13 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
             // pre-process some variables, eg XML processing
             if (service.equals("AVTransport") && variable.equals("LastChange")) {
-                Map<String, @Nullable String> parsedValues = SonosXMLParser.getAVTransportFromXML(value);
-                for (String parsedValue : parsedValues.keySet()) {
-                    // Update the transport state after the update of the media information
-                    // to not break the notification mechanism
-                    if (!parsedValue.equals("TransportState")) {
-                        onValueReceived(parsedValue, parsedValues.get(parsedValue), "AVTransport");
-                    }
-                    // Translate AVTransportURI/AVTransportURIMetaData to CurrentURI/CurrentURIMetaData
-                    // for a compatibility with the result of the action GetMediaInfo
-                    if (parsedValue.equals("AVTransportURI")) {
-                        onValueReceived("CurrentURI", parsedValues.get(parsedValue), service);
-                    } else if (parsedValue.equals("AVTransportURIMetaData")) {
-                        onValueReceived("CurrentURIMetaData", parsedValues.get(parsedValue), service);
-                    }
-                }
-                updateMediaInformation();
-                if (parsedValues.get("TransportState") != null) {
-                    onValueReceived("TransportState", parsedValues.get("TransportState"), "AVTransport");
-                }
+                onAVTransportEvent(value, service);
             }
 
             if (service.equals("RenderingControl") && variable.equals("LastChange")) {
-                Map<String, @Nullable String> parsedValues = SonosXMLParser.getRenderingControlFromXML(value);
-                for (String parsedValue : parsedValues.keySet()) {
-                    onValueReceived(parsedValue, parsedValues.get(parsedValue), "RenderingControl");
-                }
+                // unchanged variables are dropped by the recursive call
+                SonosXMLParser.decodeRenderingControlEvent(value,
+                        (parsedVariable, parsedValue) -> onValueReceived(parsedVariable, parsedValue, service));
             }
 
             List<StateOption> options = new ArrayList<>();
@@ -832,6 +814,35 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         }
     }
 
+    /**
+     * Passes the variables of an AVTransport LastChange event to {@link #onValueReceived}, the transport state last.
+     */
+    private void onAVTransportEvent(String lastChange, String service) {
+        AtomicReference<@Nullable String> transportState = new AtomicReference<>();
+        // unchanged variables are dropped by the recursive calls
+        SonosXMLParser.decodeAVTransportEvent(lastChange, (parsedVariable, parsedValue) -> {
+            // Update the transport state after the update of the media information
+            // to not break the notification mechanism
+            if (parsedVariable.equals("TransportState")) {
+                transportState.set(parsedValue);
+            } else {
+                onValueReceived(parsedVariable, parsedValue, service);
+            }
+            // Translate AVTransportURI/AVTransportURIMetaData to CurrentURI/CurrentURIMetaData
+            // for a compatibility with the result of the action GetMediaInfo
+            if (parsedVariable.equals("AVTransportURI")) {
+                onValueReceived("CurrentURI", parsedValue, service);
+            } else if (parsedVariable.equals("AVTransportURIMetaData")) {
+                onValueReceived("CurrentURIMetaData", parsedValue, service);
+            }
+        });
+        updateMediaInformation();
+        String state = transportState.get();
+        if (state != null) {
+            onValueReceived("TransportState", state, service);
+        }
+    }
+
     /**
      * CurrentURI will not change, but will trigger change of CurrentURIFormated
      * CurrentTrackMetaData will not change, but will trigger change of Title, Artist, Album
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests decoding the LastChange events of a zone player
+ *
+ * @author agent - Initial contribution
+ */
+public class SonosXMLParserTest {
+
+    private static final String TRACK_META_DATA = "<DIDL-Lite xmlns:dc=\"http://purl.org/dc/elements/1.1/\" "
+            + "xmlns:upnp=\"urn:schemas-upnp-org:metadata-1-0/upnp/\" "
+            + "xmlns:r=\"urn:schemas-rinconnetworks-com:metadata-1-0/\" "
+            + "xmlns=\"urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/\"><item id=\"-1\" parentID=\"-1\" "
+            + "restricted=\"true\"><dc:title>No One Knows</dc:title><upnp:class>object.item.audioItem.musicTrack"
+            + "</upnp:class><dc:creator>Queens Of The Stone Age</dc:creator></item></DIDL-Lite>";
+
+    private static final String AV_TRANSPORT_EVENT = "<Event xmlns=\"urn:schemas-upnp-org:metadata-1-0/AVT/\" "
+            + "xmlns:r=\"urn:schemas-rinconnetworks-com:metadata-1-0/\"><InstanceID val=\"0\">"
+            + "<TransportState val=\"PLAYING\"/><CurrentPlayMode val=\"NORMAL\"/>"
+            + "<CurrentCrossfadeMode val=\"0\"/><NumberOfTracks val=\"29\"/><CurrentTrack val=\"12\"/>"
+            + "<CurrentSection val=\"0\"/><CurrentTrackURI val=\"x-file-cifs://server/music/no%20one%20knows.mp3\"/>"
+            + "<CurrentTrackDuration val=\"0:04:38\"/><CurrentTrackMetaData val=\""
+            + TRACK_META_DATA.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;")
+            + "\"/><r:SleepTimerGeneration val=\"0\"/>"
+            + "<AVTransportURI val=\"x-rincon-queue:RINCON_000E5812BC1801400#0\"/><AVTransportURIMetaData val=\"\"/>"
+            + "<CurrentTransportActions val=\"Play, Stop, Pause, Seek, Next, Previous\"/></InstanceID></Event>";
+
+    private static final String RENDERING_CONTROL_EVENT = "<Event xmlns=\"urn:schemas-upnp-org:metadata-1-0/RCS/\">"
+            + "<InstanceID val=\"0\"><Volume channel=\"Master\" val=\"24\"/><Volume channel=\"LF\" val=\"100\"/>"
+            + "<Volume channel=\"RF\" val=\"100\"/><Mute channel=\"Master\" val=\"0\"/>"
+            + "<Mute channel=\"LF\" val=\"0\"/><Mute channel=\"RF\" val=\"0\"/><Bass val=\"2\"/>"
+            + "<Treble val=\"-1\"/><Loudness channel=\"Master\" val=\"1\"/><OutputFixed val=\"0\"/>"
+            + "<HeadphoneConnected val=\"0\"/><SpeakerSize val=\"3\"/><SubGain val=\"0\"/>"
+            + "<SubEnabled val=\"1\"/><PresetNameList>FactoryDefaults</PresetNameList></InstanceID></Event>";
+
+    @Test
+    public void testAVTransportEvent() {
+        Map<String, String> values = SonosXMLParser.getAVTransportFromXML(AV_TRANSPORT_EVENT);
+
+        assertEquals(14, values.size());
+        assertEquals("0", values.get("InstanceID"));
+        assertEquals("PLAYING", values.get("TransportState"));
+        assertEquals("12", values.get("CurrentTrack"));
+        assertEquals("x-file-cifs://server/music/no%20one%20knows.mp3", values.get("CurrentTrackURI"));
+        assertEquals(TRACK_META_DATA, values.get("CurrentTrackMetaData"));
+        // prefixed elements are reported by their local name
+        assertEquals("0", values.get("SleepTimerGeneration"));
+        assertEquals("x-rincon-queue:RINCON_000E5812BC1801400#0", values.get("AVTransportURI"));
+        assertEquals("", values.get("AVTransportURIMetaData"));
+    }
+
+    @Test
+    public void testAVTransportEventIsDecodedInDocumentOrder() {
+        List<String> variables = new ArrayList<>();
+        SonosXMLParser.decodeAVTransportEvent(AV_TRANSPORT_EVENT, (variable, value) -> variables.add(variable));
+
+        assertEquals(Arrays.asList("InstanceID", "TransportState", "CurrentPlayMode", "CurrentCrossfadeMode",
+                "NumberOfTracks", "CurrentTrack", "CurrentSection", "CurrentTrackURI", "CurrentTrackDuration",
+                "CurrentTrackMetaData", "SleepTimerGeneration", "AVTransportURI", "AVTransportURIMetaData",
+                "CurrentTransportActions"), variables);
+    }
+
+    @Test
+    public void testRenderingControlEvent() {
+        Map<String, String> expected = new HashMap<>();
+        expected.put("VolumeMaster", "24");
+        expected.put("VolumeLF", "100");
+        expected.put("VolumeRF", "100");
+        expected.put("MuteMaster", "0");
+        expected.put("MuteLF", "0");
+        expected.put("MuteRF", "0");
+        expected.put("Bass", "2");
+        expected.put("Treble", "-1");
+        expected.put("LoudnessMaster", "1");
+        expected.put("OutputFixed", "0");
+        expected.put("PresetNameList", "FactoryDefaults");
+
+        assertEquals(expected, SonosXMLParser.getRenderingControlFromXML(RENDERING_CONTROL_EVENT));
+    }
+
+    @Test
+    public void testInvalidEventIsIgnored() {
+        assertTrue(SonosXMLParser.getAVTransportFromXML("no event").isEmpty());
+        assertTrue(SonosXMLParser.getRenderingControlFromXML("no event").isEmpty());
+    }
+}
@@ -25,11 +25,15 @@ import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.net.ssl.KeyManagerFactory;
 
@@ -89,10 +93,21 @@ public class EmbeddedBrokerService
         implements MqttConnectionObserver, MqttServiceObserver, MqttEmbeddedBrokerStartedListener {
     private final MqttService service;
     private String persistenceFilename = "";
+    private int autosaveInterval = ServiceConfiguration.DEFAULT_AUTOSAVE_INTERVAL;
     // private NetworkServerTls networkServerTls; //TODO wait for NetworkServerTls implementation
 
+    /**
+     * Tracks the connected client sessions and the number of published messages from the Moquette interceptor
+     * callbacks. Both are written to the debug log: the session count whenever a client comes or goes, the message
+     * rate whenever a ten second window with published messages has completed.
+     */
     @NonNullByDefault({})
     class BrokerMetricsListenerEx implements InterceptHandler {
+        private static final long RATE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+        private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+        private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+        private final LongAdder windowCount = new LongAdder();
 
         @Override
         public String getID() {
@@ -101,21 +116,26 @@ public class EmbeddedBrokerService
 
         @Override
         public Class<?>[] getInterceptedMessageTypes() {
-            return new Class<?>[] { InterceptConnectMessage.class, InterceptDisconnectMessage.class };
+            return new Class<?>[] { InterceptConnectMessage.class, InterceptDisconnectMessage.class,
+                    InterceptConnectionLostMessage.class, InterceptPublishMessage.class };
         }
 
         @Override
         public void onConnect(InterceptConnectMessage arg0) {
-            logger.debug("MQTT Client connected: {}", arg0.getClientID());
+            sessions.add(arg0.getClientID());
+            logger.debug("MQTT Client connected: {}, {} sessions", arg0.getClientID(), sessions.size());
         }
 
         @Override
         public void onConnectionLost(InterceptConnectionLostMessage arg0) {
+            sessions.remove(arg0.getClientID());
+            logger.debug("MQTT Client connection lost: {}, {} sessions", arg0.getClientID(), sessions.size());
         }
 
         @Override
         public void onDisconnect(InterceptDisconnectMessage arg0) {
-            logger.debug("MQTT Client disconnected: {}", arg0.getClientID());
+            sessions.remove(arg0.getClientID());
+            logger.debug("MQTT Client disconnected: {}, {} sessions", arg0.getClientID(), sessions.size());
         }
 
         @Override
@@ -124,6 +144,16 @@ public class EmbeddedBrokerService
 
         @Override
         public void onPublish(InterceptPublishMessage arg0) {
+            windowCount.increment();
+            long now = System.nanoTime();
+            long start = windowStart.get();
+            long elapsed = now - start;
+            // Closed by the first message after the window, so an idle broker does not log anything
+            if (elapsed >= RATE_WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+                long count = windowCount.sumThenReset();
+                logger.debug("MQTT broker: {} messages in the last {} s", count,
+                        TimeUnit.NANOSECONDS.toSeconds(elapsed));
+            }
         }
 
         @Override
@@ -133,6 +163,15 @@ public class EmbeddedBrokerService
         @Override
         public void onUnsubscribe(InterceptUnsubscribeMessage arg0) {
         }
+
+        /**
+         * Clears all metrics. Called whenever the embedded server is (re)started.
+         */
+        void reset() {
+            sessions.clear();
+            windowStart.set(System.nanoTime());
+            windowCount.reset();
+        }
     }
 
     protected @Nullable Server server;
@@ -187,6 +226,9 @@ public class EmbeddedBrokerService
             logger.info("Using in-memory persistence. No persistence file has been set!");
         }
 
+        autosaveInterval = config.autosaveInterval > 0 ? config.autosaveInterval
+                : ServiceConfiguration.DEFAULT_AUTOSAVE_INTERVAL;
+
         // Start embedded server
         startEmbeddedServer(port, config.secure, config.username, config.password);
     }
@@ -294,7 +336,9 @@ public class EmbeddedBrokerService
 
         if (!persistenceFilename.isEmpty()) { // Persistence: If not set, an in-memory database is used.
             properties.put(BrokerConstants.PERSISTENT_STORE_PROPERTY_NAME, persistenceFilename);
-            properties.put(BrokerConstants.AUTOSAVE_INTERVAL_PROPERTY_NAME, "30"); // in seconds
+            // Moquette keeps retained messages and sessions in an H2 MVStore, an append-only log structured file
+            // that is compacted in the background. Fewer autosaves (in seconds) mean fewer, larger writes.
+            properties.put(BrokerConstants.AUTOSAVE_INTERVAL_PROPERTY_NAME, Integer.toString(autosaveInterval));
         }
 
         // We may provide ACL functionality at some point as well
@@ -313,6 +357,7 @@ public class EmbeddedBrokerService
             }
         }
         this.server = server;
+        metrics.reset();
         server.addInterceptHandler(metrics);
         ScheduledExecutorService s = new ScheduledThreadPoolExecutor(1);
         detectStart.startBrokerStartedDetection(port, s);
@@ -22,9 +22,12 @@ import org.eclipse.jdt.annotation.Nullable;
  */
 @NonNullByDefault
 public class ServiceConfiguration {
+    public static final int DEFAULT_AUTOSAVE_INTERVAL = 30;
+
     public @Nullable Integer port;
     public Boolean secure = false;
     public String persistenceFile = "mqttembedded.bin";
+    public int autosaveInterval = DEFAULT_AUTOSAVE_INTERVAL;
 
     public @Nullable String username;
     public @Nullable String password;
@@ -14,8 +14,6 @@ package org.openhab.io.transport.modbus;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.Optional;
 
@@ -35,6 +33,8 @@ import org.eclipse.smarthome.core.types.Command;
 @NonNullByDefault
 public class ModbusBitUtilities {
 
+    private static final BigInteger UINT64_MODULUS = BigInteger.ONE.shiftLeft(64);
+
     /**
      * Read data from registers and convert the result to DecimalType
      * Interpretation of <tt>index</tt> goes as follows depending on type
@@ -101,6 +101,28 @@ public class ModbusBitUtilities {
      */
     public static Optional<DecimalType> extractStateFromRegisters(ModbusRegisterArray registers, int index,
             ModbusConstants.ValueType type) {
+        return rawToState(extractRawFromRegisters(registers, index, type), type);
+    }
+
+    /**
+     * Read the raw bits of a value from registers, without converting them to a number
+     *
+     * The bits are read directly from the register values, without intermediate buffers. Interpretation of
+     * <tt>index</tt> is the same as with {@link #extractStateFromRegisters}. Values with less than 64 bits are
+     * zero-extended, that is, the sign is only taken into account by {@link #rawToState}. With the swapped types,
+     * the registers are returned in the order of the corresponding non-swapped type.
+     *
+     * Equal raw values with the same type always convert to equal states, which allows callers to skip
+     * conversion and further processing when the raw value has not changed.
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param index zero based item index
+     * @param type item type
+     * @return the raw bits of the value
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static long extractRawFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type) {
         int endBitIndex = (type.getBits() >= 16 ? 16 * index : type.getBits() * index) + type.getBits() - 1;
         // each register has 16 bits
         int lastValidIndex = registers.size() * 16 - 1;
@@ -111,102 +133,79 @@ public class ModbusBitUtilities {
         }
         switch (type) {
             case BIT:
-                return Optional
-                        .of(new DecimalType((registers.getRegister(index / 16).toUnsignedShort() >> (index % 16)) & 1));
+                return (registers.getRegister(index / 16).toUnsignedShort() >> (index % 16)) & 1;
             case INT8:
-                return Optional.of(new DecimalType(registers.getRegister(index / 2).getBytes()[1 - (index % 2)]));
             case UINT8:
-                return Optional.of(new DecimalType(
-                        (registers.getRegister(index / 2).toUnsignedShort() >> (8 * (index % 2))) & 0xff));
-            case INT16: {
-                ByteBuffer buff = ByteBuffer.allocate(2);
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getShort(0)));
-            }
+                return (registers.getRegister(index / 2).toUnsignedShort() >> (8 * (index % 2))) & 0xff;
+            case INT16:
             case UINT16:
-                return Optional.of(new DecimalType(registers.getRegister(index).toUnsignedShort()));
-            case INT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0)));
-            }
-            case UINT32: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case FLOAT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
+                return registers.getRegister(index).toUnsignedShort();
+            case INT32:
+            case UINT32:
+            case FLOAT32:
+                return ((long) registers.getRegister(index).toUnsignedShort() << 16)
+                        | registers.getRegister(index + 1).toUnsignedShort();
+            case INT32_SWAP:
+            case UINT32_SWAP:
+            case FLOAT32_SWAP:
+                return ((long) registers.getRegister(index + 1).toUnsignedShort() << 16)
+                        | registers.getRegister(index).toUnsignedShort();
+            case INT64:
+            case UINT64:
+                return ((long) registers.getRegister(index).toUnsignedShort() << 48)
+                        | ((long) registers.getRegister(index + 1).toUnsignedShort() << 32)
+                        | ((long) registers.getRegister(index + 2).toUnsignedShort() << 16)
+                        | registers.getRegister(index + 3).toUnsignedShort();
+            case INT64_SWAP:
+            case UINT64_SWAP:
+                return ((long) registers.getRegister(index + 3).toUnsignedShort() << 48)
+                        | ((long) registers.getRegister(index + 2).toUnsignedShort() << 32)
+                        | ((long) registers.getRegister(index + 1).toUnsignedShort() << 16)
+                        | registers.getRegister(index).toUnsignedShort();
+            default:
+                throw new IllegalArgumentException(type.getConfigValue());
+        }
+    }
+
+    /**
+     * Convert raw bits returned by {@link #extractRawFromRegisters} to DecimalType
+     *
+     * @param raw raw bits of the value
+     * @param type item type
+     * @return number representation of the value, <tt>DecimalType</tt>. Empty optional is returned
+     *         with NaN and infinity floating point values
+     */
+    public static Optional<DecimalType> rawToState(long raw, ModbusConstants.ValueType type) {
+        switch (type) {
+            case BIT:
+            case UINT8:
+            case UINT16:
+            case UINT32:
+            case UINT32_SWAP:
+            case INT64:
+            case INT64_SWAP:
+                return Optional.of(new DecimalType(raw));
+            case INT8:
+                return Optional.of(new DecimalType((byte) raw));
+            case INT16:
+                return Optional.of(new DecimalType((short) raw));
+            case INT32:
+            case INT32_SWAP:
+                return Optional.of(new DecimalType((int) raw));
+            case FLOAT32:
+            case FLOAT32_SWAP:
                 try {
-                    return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0)));
+                    return Optional.of(new DecimalType(Float.intBitsToFloat((int) raw)));
                 } catch (NumberFormatException e) {
                     // floating point NaN or infinity encountered
                     return Optional.empty();
                 }
-            }
-            case INT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case UINT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return Optional.of(
-                        new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array()))));
-            }
-            case INT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0)));
-            }
-            case UINT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case FLOAT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                try {
-                    return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0)));
-                } catch (NumberFormatException e) {
-                    // floating point NaN or infinity encountered
-                    return Optional.empty();
+            case UINT64:
+            case UINT64_SWAP:
+                if (raw >= 0) {
+                    return Optional.of(new DecimalType(raw));
                 }
-            }
-            case INT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case UINT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(
-                        new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array()))));
-            }
+                return Optional.of(new DecimalType(new BigDecimal(BigInteger.valueOf(raw).add(UINT64_MODULUS))));
             default:
                 throw new IllegalArgumentException(type.getConfigValue());
         }
@@ -244,14 +243,16 @@ public class ModbusBitUtilities {
         byte[] buff = new byte[length];
 
         int src = index;
+        int value = 0;
         int dest;
         for (dest = 0; dest < length; dest++) {
 
             byte chr;
             if (dest % 2 == 0) {
-                chr = (byte) ((registers.getRegister(src).getValue() >> 8));
+                value = registers.getRegister(src).getValue();
+                chr = (byte) (value >> 8);
             } else {
-                chr = (byte) (registers.getRegister(src).getValue() & 0xff);
+                chr = (byte) (value & 0xff);
                 src++;
             }
             if (chr == 0) {
@@ -13,6 +13,8 @@
 package org.openhab.io.transport.modbus.internal;
 
 import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
@@ -178,6 +180,36 @@ public class ModbusManagerImpl implements ModbusManager {
         }
     }
 
+    /**
+     * Execute single transaction with the slave
+     *
+     * Pipelined connections send the request right away, even if other transactions are still waiting for their
+     * response. Other connections execute the transaction with the modbus library.
+     *
+     * @param timer aggregate stop watch for performance profiling
+     * @param endpoint endpoint of the connection
+     * @param connection connection to use
+     * @param libRequest modbus request
+     * @return response from the slave
+     * @throws ModbusException on Modbus protocol errors (e.g. ModbusIOException on I/O, ModbusSlaveException on
+     *             slave exception responses)
+     */
+    private ModbusResponse executeTransaction(AggregateStopWatch timer, ModbusSlaveEndpoint endpoint,
+            ModbusSlaveConnection connection, ModbusRequest libRequest) throws ModbusException {
+        timer.transaction.resume();
+        try {
+            if (connection instanceof ModbusTCPPipelinedConnection) {
+                return ((ModbusTCPPipelinedConnection) connection).execute(libRequest);
+            }
+            ModbusTransaction transaction = ModbusLibraryWrapper.createTransactionForEndpoint(endpoint, connection);
+            transaction.setRequest(libRequest);
+            transaction.execute();
+            return transaction.getResponse();
+        } finally {
+            timer.transaction.suspend();
+        }
+    }
+
     /**
      * Implementation for the PollTask operation
      *
@@ -194,16 +226,13 @@ public class ModbusManagerImpl implements ModbusManager {
             ModbusReadCallback callback = task.getCallback();
             String operationId = timer.operationId;
 
-            ModbusTransaction transaction = ModbusLibraryWrapper.createTransactionForEndpoint(endpoint, connection);
             ModbusRequest libRequest = ModbusLibraryWrapper.createRequest(request);
-            transaction.setRequest(libRequest);
 
             logger.trace("Going execute transaction with request request (FC={}): {} [operation ID {}]",
                     request.getFunctionCode(), libRequest.getHexMessage(), operationId);
             // Might throw ModbusIOException (I/O error) or ModbusSlaveException (explicit exception response from
             // slave)
-            timer.transaction.timeRunnableWithModbusException(() -> transaction.execute());
-            ModbusResponse response = transaction.getResponse();
+            ModbusResponse response = executeTransaction(timer, endpoint, connection, libRequest);
             logger.trace("Response for read request (FC={}, transaction ID={}): {} [operation ID {}]",
                     response.getFunctionCode(), response.getTransactionID(), response.getHexMessage(), operationId);
             checkTransactionId(response, libRequest, operationId);
@@ -232,17 +261,14 @@ public class ModbusManagerImpl implements ModbusManager {
             ModbusWriteCallback callback = task.getCallback();
             String operationId = timer.operationId;
 
-            ModbusTransaction transaction = ModbusLibraryWrapper.createTransactionForEndpoint(endpoint, connection);
             ModbusRequest libRequest = ModbusLibraryWrapper.createRequest(request);
-            transaction.setRequest(libRequest);
 
             logger.trace("Going execute transaction with read request (FC={}): {} [operation ID {}]",
                     request.getFunctionCode(), libRequest.getHexMessage(), operationId);
 
             // Might throw ModbusIOException (I/O error) or ModbusSlaveException (explicit exception response from
             // slave)
-            timer.transaction.timeRunnableWithModbusException(() -> transaction.execute());
-            ModbusResponse response = transaction.getResponse();
+            ModbusResponse response = executeTransaction(timer, endpoint, connection, libRequest);
             logger.trace("Response for write request (FC={}, transaction ID={}): {} [operation ID {}]",
                     response.getFunctionCode(), response.getTransactionID(), response.getHexMessage(), operationId);
             checkTransactionId(response, libRequest, operationId);
@@ -294,8 +320,16 @@ public class ModbusManagerImpl implements ModbusManager {
     private static final long WARN_QUEUE_SIZE = 500;
     private static final long MONITOR_QUEUE_INTERVAL_MILLIS = 10000;
 
+    /**
+     * Configuration property enabling the coalescing of regular polls, see {@link ModbusPollPlanner}
+     */
+    public static final String CONFIG_COALESCE_POLLS = "coalescePolls";
+
     private final PollOperation pollOperation = new PollOperation();
     private final WriteOperation writeOperation = new WriteOperation();
+    private final ModbusPollPlanner pollPlanner = new ModbusPollPlanner();
+
+    private volatile boolean coalescePolls;
 
     private volatile long lastQueueMonitorLog = -1;
 
@@ -313,6 +347,11 @@ public class ModbusManagerImpl implements ModbusManager {
     @Nullable
     private volatile ModbusSlaveConnectionFactoryImpl connectionFactory;
     private volatile Map<PollTask, ScheduledFuture<?>> scheduledPollTasks = new ConcurrentHashMap<>();
+    /**
+     * Connections of TCP endpoints with pipelining enabled. These connections are shared by all operations, and
+     * bypass the connection pool.
+     */
+    private final Map<ModbusSlaveEndpoint, ModbusTCPPipelinedConnection> pipelinedConnections = new ConcurrentHashMap<>();
     /**
      * Executor for requests
      */
@@ -372,7 +411,58 @@ public class ModbusManagerImpl implements ModbusManager {
         this.connectionFactory = connectionFactory;
     }
 
+    private boolean isPipelined(ModbusSlaveEndpoint endpoint) {
+        ModbusSlaveConnectionFactoryImpl connectionFactory = this.connectionFactory;
+        if (connectionFactory == null || !(endpoint instanceof ModbusTCPSlaveEndpoint)) {
+            return false;
+        }
+        EndpointPoolConfiguration config = connectionFactory.getEndpointPoolConfiguration(endpoint);
+        return config != null && config.getMaxPipelinedTransactions() > 1;
+    }
+
+    private Optional<ModbusSlaveConnection> borrowPipelinedConnection(ModbusSlaveEndpoint endpoint) {
+        ModbusSlaveConnectionFactoryImpl connectionFactory = this.connectionFactory;
+        if (connectionFactory == null) {
+            return Optional.empty();
+        }
+        ModbusTCPPipelinedConnection connection = pipelinedConnections.get(endpoint);
+        if (connection == null) {
+            EndpointPoolConfiguration config = connectionFactory.getEndpointPoolConfiguration(endpoint);
+            ModbusTCPSlaveEndpoint tcpEndpoint = (ModbusTCPSlaveEndpoint) endpoint;
+            try {
+                connection = new ModbusTCPPipelinedConnection(InetAddress.getByName(tcpEndpoint.getAddress()),
+                        tcpEndpoint.getPort(), config == null ? 0 : config.getConnectTimeoutMillis(),
+                        Modbus.DEFAULT_TIMEOUT, config == null ? 1 : config.getMaxPipelinedTransactions());
+            } catch (UnknownHostException e) {
+                logger.warn("Unknown host {} for endpoint {}", tcpEndpoint.getAddress(), endpoint);
+                return Optional.empty();
+            }
+            ModbusTCPPipelinedConnection previous = pipelinedConnections.putIfAbsent(endpoint, connection);
+            if (previous != null) {
+                connection = previous;
+            }
+        }
+        try {
+            connection.connect();
+        } catch (Exception e) {
+            logger.warn("Error connecting pipelined connection for endpoint {}. Error was: {} {}", endpoint,
+                    e.getClass().getName(), e.getMessage());
+            return Optional.empty();
+        }
+        return Optional.of(connection);
+    }
+
+    private void closePipelinedConnection(ModbusSlaveEndpoint endpoint) {
+        ModbusTCPPipelinedConnection connection = pipelinedConnections.remove(endpoint);
+        if (connection != null) {
+            connection.resetConnection();
+        }
+    }
+
     private Optional<ModbusSlaveConnection> borrowConnection(ModbusSlaveEndpoint endpoint) {
+        if (isPipelined(endpoint)) {
+            return borrowPipelinedConnection(endpoint);
+        }
         Optional<ModbusSlaveConnection> connection = Optional.empty();
         KeyedObjectPool<ModbusSlaveEndpoint, ModbusSlaveConnection> pool = connectionPool;
         if (pool == null) {
@@ -400,6 +490,11 @@ public class ModbusManagerImpl implements ModbusManager {
     }
 
     private void invalidate(ModbusSlaveEndpoint endpoint, Optional<ModbusSlaveConnection> connection) {
+        if (connection.filter(ModbusTCPPipelinedConnection.class::isInstance).isPresent()) {
+            // Shared connection: transactions in flight fail, and the next borrow connects again
+            connection.get().resetConnection();
+            return;
+        }
         KeyedObjectPool<ModbusSlaveEndpoint, ModbusSlaveConnection> pool = connectionPool;
         if (pool == null) {
             return;
@@ -418,6 +513,10 @@ public class ModbusManagerImpl implements ModbusManager {
     }
 
     private void returnConnection(ModbusSlaveEndpoint endpoint, Optional<ModbusSlaveConnection> connection) {
+        if (connection.filter(ModbusTCPPipelinedConnection.class::isInstance).isPresent()) {
+            // Shared connection, stays open
+            return;
+        }
         KeyedObjectPool<ModbusSlaveEndpoint, ModbusSlaveConnection> pool = connectionPool;
         if (pool == null) {
             return;
@@ -767,7 +866,7 @@ public class ModbusManagerImpl implements ModbusManager {
                 logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis, task,
                         started);
                 try {
-                    executeOperation(task, false, pollOperation);
+                    executeRegularPoll(task);
                 } catch (RuntimeException e) {
                     // We want to catch all unexpected exceptions since all unhandled exceptions make
                     // ScheduledExecutorService halt the polling. It is better to print out the exception, and try again
@@ -788,6 +887,20 @@ public class ModbusManagerImpl implements ModbusManager {
         }
     }
 
+    private void executeRegularPoll(PollTask task) {
+        if (!coalescePolls) {
+            executeOperation(task, false, pollOperation);
+            return;
+        }
+        try {
+            // Merged polls are not registered themselves, the planner already dropped unregistered parts
+            pollPlanner.execute(task, scheduledPollTasks::containsKey, planned -> executeOperation(planned,
+                    !scheduledPollTasks.containsKey(planned), pollOperation));
+        } catch (InterruptedException e) {
+            logger.debug("Poll task {} was canceled while waiting for other polls of the same slave", task);
+        }
+    }
+
     @SuppressWarnings({ "null", "unused" })
     @Override
     public boolean unregisterRegularPoll(PollTask task) {
@@ -850,6 +963,8 @@ public class ModbusManagerImpl implements ModbusManager {
             @Nullable EndpointPoolConfiguration configuration) {
         Objects.requireNonNull(connectionFactory, "Not activated!");
         connectionFactory.setEndpointPoolConfiguration(endpoint, configuration);
+        // Pipelined connection is created again on next use, with the new configuration
+        closePipelinedConnection(endpoint);
         for (ModbusManagerListener listener : listeners) {
             listener.onEndpointPoolConfigurationSet(endpoint, configuration);
         }
@@ -880,6 +995,7 @@ public class ModbusManagerImpl implements ModbusManager {
     protected void activate(Map<String, Object> configProperties) {
         synchronized (this) {
             logger.info("Modbus manager activated");
+            coalescePolls = Boolean.parseBoolean(String.valueOf(configProperties.get(CONFIG_COALESCE_POLLS)));
             if (connectionPool == null) {
                 constructConnectionPool();
             }
@@ -910,6 +1026,9 @@ public class ModbusManagerImpl implements ModbusManager {
                 connectionPool.close();
                 this.connectionPool = connectionPool = null;
             }
+            for (ModbusSlaveEndpoint endpoint : pipelinedConnections.keySet()) {
+                closePipelinedConnection(endpoint);
+            }
 
             if (monitorFuture != null) {
                 monitorFuture.cancel(true);
@@ -919,6 +1038,7 @@ public class ModbusManagerImpl implements ModbusManager {
             // when pool is received from ThreadPoolManager is called
             scheduledThreadPoolExecutor = null;
             connectionFactory = null;
+            pollPlanner.clear();
             logger.debug("Modbus manager deactivated");
         }
     }
@@ -0,0 +1,281 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegister;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces regular polls reading the same slave with the same function code.
+ *
+ * Polls that are due are queued per endpoint, unit ID and function code. Only one thread at a time executes the polls
+ * of such a queue, and while it is busy with the bus, polls becoming due for the same slave queue up behind it. The
+ * next thread then takes all queued polls at once and merges overlapping or adjacent ranges into the fewest reads
+ * allowed by the protocol (125 registers or 2000 bits). The response of a merged read is sliced and passed to the
+ * callbacks of the original polls, with their original requests.
+ *
+ * Ranges with gaps in between are never merged, so no register is read that was not requested by some poll.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollPlanner {
+
+    /**
+     * Maximum number of registers in a single read request, as defined by the Modbus specification
+     */
+    public static final int MAX_REGISTERS_PER_READ = 125;
+
+    /**
+     * Maximum number of coils or discrete inputs in a single read request, as defined by the Modbus specification
+     */
+    public static final int MAX_BITS_PER_READ = 2000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ModbusPollPlanner.class);
+
+    private static class SlaveKey {
+        private final ModbusSlaveEndpoint endpoint;
+        private final int unitId;
+        private final ModbusReadFunctionCode functionCode;
+
+        SlaveKey(PollTask task) {
+            this.endpoint = task.getEndpoint();
+            this.unitId = task.getRequest().getUnitID();
+            this.functionCode = task.getRequest().getFunctionCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(endpoint, unitId, functionCode);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof SlaveKey)) {
+                return false;
+            }
+            SlaveKey other = (SlaveKey) obj;
+            return unitId == other.unitId && functionCode == other.functionCode && endpoint.equals(other.endpoint);
+        }
+    }
+
+    private static class SlaveQueue {
+        private final Queue<PollTask> due = new ConcurrentLinkedQueue<>();
+        private final ReentrantLock lock = new ReentrantLock();
+    }
+
+    /**
+     * Callback of a merged read, slicing the response for the callbacks of the original polls
+     */
+    private static class FanOutCallback implements ModbusReadCallback {
+        private final int reference;
+        private final List<PollTask> parts;
+
+        FanOutCallback(int reference, List<PollTask> parts) {
+            this.reference = reference;
+            this.parts = parts;
+        }
+
+        @Override
+        public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+            for (PollTask part : parts) {
+                ModbusReadCallback callback = part.getCallback();
+                if (callback == null) {
+                    continue;
+                }
+                ModbusReadRequestBlueprint partRequest = part.getRequest();
+                int offset = partRequest.getReference() - reference;
+                ModbusRegister[] slice = new ModbusRegister[partRequest.getDataLength()];
+                for (int i = 0; i < slice.length; i++) {
+                    slice[i] = registers.getRegister(offset + i);
+                }
+                invoke(part, () -> callback.onRegisters(partRequest, new BasicModbusRegisterArray(slice)));
+            }
+        }
+
+        @Override
+        public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+            for (PollTask part : parts) {
+                ModbusReadCallback callback = part.getCallback();
+                if (callback == null) {
+                    continue;
+                }
+                ModbusReadRequestBlueprint partRequest = part.getRequest();
+                int offset = partRequest.getReference() - reference;
+                BasicBitArray slice = new BasicBitArray(partRequest.getDataLength());
+                for (int i = 0; i < slice.size(); i++) {
+                    slice.setBit(i, bits.getBit(offset + i));
+                }
+                invoke(part, () -> callback.onBits(partRequest, slice));
+            }
+        }
+
+        @Override
+        public void onError(ModbusReadRequestBlueprint request, Exception error) {
+            for (PollTask part : parts) {
+                ModbusReadCallback callback = part.getCallback();
+                if (callback != null) {
+                    invoke(part, () -> callback.onError(part.getRequest(), error));
+                }
+            }
+        }
+
+        private void invoke(PollTask part, Runnable runnable) {
+            // A failing callback must not prevent the other polls of the merged read from receiving their data
+            try {
+                runnable.run();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Callback of poll task {} failed unexpectedly", part, e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "FanOutCallback(" + parts.size() + " polls)";
+        }
+    }
+
+    private final Map<SlaveKey, SlaveQueue> queues = new ConcurrentHashMap<>();
+
+    /**
+     * Queues a due poll and executes it, possibly merged with other queued polls of the same slave.
+     *
+     * The call blocks while another thread is executing polls of the same slave. When the poll has already been
+     * executed by another thread in the meantime, the call returns without executing anything.
+     *
+     * @param task the poll that is due
+     * @param registered tells whether a queued poll is still registered. Unregistered polls are dropped.
+     * @param executor executes a single, possibly merged, poll
+     * @throws InterruptedException when interrupted while waiting for other polls of the same slave
+     */
+    public void execute(PollTask task, Predicate<PollTask> registered, Consumer<PollTask> executor)
+            throws InterruptedException {
+        SlaveQueue queue = queues.computeIfAbsent(new SlaveKey(task), key -> new SlaveQueue());
+        queue.due.add(task);
+        queue.lock.lockInterruptibly();
+        try {
+            List<PollTask> due = new ArrayList<>();
+            PollTask next;
+            while ((next = queue.due.poll()) != null) {
+                if (registered.test(next)) {
+                    due.add(next);
+                }
+            }
+            for (PollTask planned : plan(due)) {
+                executor.accept(planned);
+            }
+        } finally {
+            queue.lock.unlock();
+        }
+    }
+
+    /**
+     * Forgets all queued polls
+     */
+    public void clear() {
+        queues.clear();
+    }
+
+    /**
+     * Merges overlapping or adjacent reads into the fewest reads allowed by the protocol.
+     *
+     * All polls must share the endpoint, unit ID and function code. Polls that cannot be merged with any other poll
+     * are returned as is. Merged polls use the highest maxTries of their parts.
+     *
+     * @param tasks polls of a single slave and function code
+     * @return polls to execute
+     */
+    public static List<PollTask> plan(Collection<PollTask> tasks) {
+        List<PollTask> sorted = new ArrayList<>(tasks);
+        sorted.sort(Comparator.comparingInt((PollTask task) -> task.getRequest().getReference())
+                .thenComparingInt(task -> task.getRequest().getDataLength()));
+        List<PollTask> planned = new ArrayList<>();
+        List<PollTask> group = new ArrayList<>();
+        int groupStart = 0;
+        int groupEnd = 0;
+        for (PollTask task : sorted) {
+            ModbusReadRequestBlueprint request = task.getRequest();
+            int start = request.getReference();
+            int end = start + request.getDataLength();
+            if (!group.isEmpty() && start <= groupEnd
+                    && Math.max(end, groupEnd) - groupStart <= maxReadLength(request.getFunctionCode())) {
+                group.add(task);
+                groupEnd = Math.max(end, groupEnd);
+                continue;
+            }
+            if (!group.isEmpty()) {
+                planned.add(merge(group, groupStart, groupEnd));
+            }
+            group = new ArrayList<>();
+            group.add(task);
+            groupStart = start;
+            groupEnd = end;
+        }
+        if (!group.isEmpty()) {
+            planned.add(merge(group, groupStart, groupEnd));
+        }
+        return planned;
+    }
+
+    private static PollTask merge(List<PollTask> group, int start, int end) {
+        PollTask first = group.get(0);
+        if (group.size() == 1) {
+            return first;
+        }
+        ModbusReadRequestBlueprint request = first.getRequest();
+        int maxTries = group.stream().mapToInt(task -> task.getRequest().getMaxTries()).max().orElse(1);
+        BasicModbusReadRequestBlueprint merged = new BasicModbusReadRequestBlueprint(request.getUnitID(),
+                request.getFunctionCode(), start, end - start, maxTries);
+        return new BasicPollTaskImpl(first.getEndpoint(), merged, new FanOutCallback(start, group));
+    }
+
+    private static int maxReadLength(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return MAX_BITS_PER_READ;
+            default:
+                return MAX_REGISTERS_PER_READ;
+        }
+    }
+}
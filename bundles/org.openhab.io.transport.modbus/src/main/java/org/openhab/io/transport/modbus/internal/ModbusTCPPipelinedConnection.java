@@ -0,0 +1,284 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.wimpi.modbus.ModbusException;
+import net.wimpi.modbus.ModbusIOException;
+import net.wimpi.modbus.ModbusSlaveException;
+import net.wimpi.modbus.msg.ExceptionResponse;
+import net.wimpi.modbus.msg.ModbusRequest;
+import net.wimpi.modbus.msg.ModbusResponse;
+import net.wimpi.modbus.net.ModbusSlaveConnection;
+
+/**
+ * Modbus TCP connection allowing several outstanding transactions over a single socket.
+ *
+ * Requests are written as soon as they are submitted, up to a configured number of transactions in flight. A reader
+ * thread matches the responses to the pending requests by their transaction ID, so responses may arrive in any order.
+ *
+ * When the socket fails, all transactions in flight fail with {@link ModbusIOException}, and the connection has to be
+ * connected again.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusTCPPipelinedConnection implements ModbusSlaveConnection {
+
+    /**
+     * Size of the MBAP header: transaction ID, protocol ID and length
+     */
+    private static final int HEADER_LENGTH = 6;
+
+    /**
+     * Maximum length of a Modbus TCP frame after the header
+     */
+    private static final int MAX_FRAME_LENGTH = 254;
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusTCPPipelinedConnection.class);
+
+    private final InetAddress address;
+    private final int port;
+    private final int connectTimeoutMillis;
+    private final long responseTimeoutMillis;
+    private final Semaphore inFlightPermits;
+    private final Map<Integer, CompletableFuture<ModbusResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private int lastTransactionId;
+    private @Nullable Socket socket;
+    private @Nullable DataOutputStream output;
+
+    /**
+     * Creates a connection, which is not connected yet
+     *
+     * @param address address of the slave
+     * @param port port of the slave
+     * @param connectTimeoutMillis connect timeout, or 0 to use the system default
+     * @param responseTimeoutMillis time to wait for the response of a single transaction
+     * @param maxInFlight maximum number of outstanding transactions
+     */
+    public ModbusTCPPipelinedConnection(InetAddress address, int port, int connectTimeoutMillis,
+            long responseTimeoutMillis, int maxInFlight) {
+        this.address = address;
+        this.port = port;
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.responseTimeoutMillis = responseTimeoutMillis;
+        this.inFlightPermits = new Semaphore(maxInFlight, true);
+    }
+
+    @Override
+    public synchronized boolean connect() throws Exception {
+        if (isConnected()) {
+            return true;
+        }
+        Socket socket = new Socket();
+        socket.setTcpNoDelay(true);
+        socket.connect(new InetSocketAddress(address, port), connectTimeoutMillis);
+        DataInputStream input = new DataInputStream(socket.getInputStream());
+        this.output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        this.socket = socket;
+
+        Thread reader = new Thread(() -> readResponses(socket, input),
+                "OH-modbus-pipeline-" + address.getHostAddress() + ":" + port);
+        reader.setDaemon(true);
+        reader.start();
+        logger.debug("Pipelined connection to {}:{} established", address, port);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean isConnected() {
+        Socket socket = this.socket;
+        return socket != null && socket.isConnected() && !socket.isClosed();
+    }
+
+    @Override
+    public void resetConnection() {
+        Socket socket;
+        synchronized (this) {
+            socket = this.socket;
+            this.socket = null;
+            this.output = null;
+        }
+        if (socket != null) {
+            closeQuietly(socket);
+            failInFlight(new ModbusIOException("Connection was reset"));
+        }
+    }
+
+    /**
+     * Returns the number of transactions waiting for their response
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Executes a transaction, possibly concurrently with other transactions of this connection.
+     *
+     * The transaction ID of the request is replaced by a transaction ID unique among the transactions in flight.
+     * Waiting for a free transaction slot and for the response together take at most the response timeout.
+     *
+     * @param request request to send
+     * @return the response of the slave
+     * @throws ModbusIOException on I/O errors and timeouts
+     * @throws ModbusSlaveException when the slave responds with an exception response
+     */
+    public ModbusResponse execute(ModbusRequest request) throws ModbusException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(responseTimeoutMillis);
+        try {
+            if (!inFlightPermits.tryAcquire(responseTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new ModbusIOException("Timeout waiting for a free transaction slot");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModbusIOException("Interrupted while waiting for a free transaction slot");
+        }
+        int transactionId = -1;
+        try {
+            CompletableFuture<ModbusResponse> future = new CompletableFuture<>();
+            synchronized (this) {
+                DataOutputStream output = this.output;
+                if (output == null) {
+                    throw new ModbusIOException("Not connected");
+                }
+                transactionId = nextTransactionId();
+                inFlight.put(transactionId, future);
+                request.setTransactionID(transactionId);
+                try {
+                    request.writeTo(output);
+                    output.flush();
+                } catch (IOException e) {
+                    inFlight.remove(transactionId);
+                    throw new ModbusIOException("Could not write request: " + e.getMessage());
+                }
+            }
+            ModbusResponse response = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (response instanceof ExceptionResponse) {
+                throw new ModbusSlaveException(((ExceptionResponse) response).getExceptionCode());
+            }
+            return response;
+        } catch (TimeoutException e) {
+            throw new ModbusIOException(
+                    String.format("No response for transaction %d within %d ms", transactionId, responseTimeoutMillis));
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ModbusException) {
+                throw (ModbusException) cause;
+            }
+            throw new ModbusIOException(String.valueOf(cause));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModbusIOException("Interrupted while waiting for the response");
+        } finally {
+            if (transactionId >= 0) {
+                inFlight.remove(transactionId);
+            }
+            inFlightPermits.release();
+        }
+    }
+
+    /**
+     * Returns the next transaction ID (1..65535) that is not in use. Must be called while holding the lock.
+     */
+    private int nextTransactionId() {
+        do {
+            lastTransactionId = lastTransactionId % 0xFFFF + 1;
+        } while (inFlight.containsKey(lastTransactionId));
+        return lastTransactionId;
+    }
+
+    private void readResponses(Socket socket, DataInputStream input) {
+        byte[] frame = new byte[HEADER_LENGTH + MAX_FRAME_LENGTH];
+        try {
+            while (!socket.isClosed()) {
+                input.readFully(frame, 0, HEADER_LENGTH);
+                int transactionId = ((frame[0] & 0xFF) << 8) | (frame[1] & 0xFF);
+                int length = ((frame[4] & 0xFF) << 8) | (frame[5] & 0xFF);
+                if (length < 2 || length > MAX_FRAME_LENGTH) {
+                    throw new IOException("Invalid frame length " + length);
+                }
+                input.readFully(frame, HEADER_LENGTH, length);
+                // function code follows the unit ID
+                ModbusResponse response = ModbusResponse.createModbusResponse(frame[HEADER_LENGTH + 1] & 0xFF);
+                response.readFrom(new DataInputStream(new ByteArrayInputStream(frame, 0, HEADER_LENGTH + length)));
+
+                CompletableFuture<ModbusResponse> future = inFlight.remove(transactionId);
+                if (future == null) {
+                    logger.debug("Discarding response with unknown or timed out transaction ID {} from {}:{}",
+                            transactionId, address, port);
+                } else {
+                    future.complete(response);
+                }
+            }
+        } catch (EOFException e) {
+            close(socket, new ModbusIOException("Connection closed by slave"));
+        } catch (IOException e) {
+            close(socket, new ModbusIOException("Could not read response: " + e.getMessage()));
+        }
+    }
+
+    private void close(Socket socket, ModbusIOException reason) {
+        boolean current;
+        synchronized (this) {
+            // the socket might have been reset already, and the transactions in flight belong to a new socket
+            current = this.socket == socket;
+            if (current) {
+                this.socket = null;
+                this.output = null;
+            }
+        }
+        closeQuietly(socket);
+        if (current) {
+            failInFlight(reason);
+        }
+    }
+
+    private void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            logger.debug("Error closing pipelined connection to {}:{}: {}", address, port, e.getMessage());
+        }
+    }
+
+    private void failInFlight(ModbusIOException reason) {
+        inFlight.values().forEach(future -> future.completeExceptionally(reason));
+    }
+
+    @Override
+    public String toString() {
+        return "ModbusTCPPipelinedConnection(" + address + ":" + port + ", in flight " + inFlight.size() + ")";
+    }
+}
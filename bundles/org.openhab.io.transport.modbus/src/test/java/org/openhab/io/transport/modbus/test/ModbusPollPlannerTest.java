@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.ModbusPollPlanner;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class ModbusPollPlannerTest {
+
+    private final ModbusTCPSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("127.0.0.1", 502);
+
+    private PollTask task(ModbusReadFunctionCode functionCode, int start, int length, ModbusReadCallback callback) {
+        return new BasicPollTaskImpl(endpoint,
+                new BasicModbusReadRequestBlueprint(1, functionCode, start, length, 1), callback);
+    }
+
+    @Test
+    public void testSinglePollIsNotChanged() {
+        PollTask task = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 5, mock(ModbusReadCallback.class));
+        List<PollTask> planned = ModbusPollPlanner.plan(Collections.singletonList(task));
+        assertThat(planned.size(), is(equalTo(1)));
+        assertThat(planned.get(0), is(sameInstance(task)));
+    }
+
+    @Test
+    public void testAdjacentAndOverlappingPollsAreMerged() {
+        List<PollTask> planned = ModbusPollPlanner
+                .plan(Arrays.asList(task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 5, null),
+                        task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 10, null),
+                        task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 12, 8, null)));
+        assertThat(planned.size(), is(equalTo(1)));
+        assertThat(planned.get(0).getRequest().getReference(), is(equalTo(0)));
+        assertThat(planned.get(0).getRequest().getDataLength(), is(equalTo(20)));
+    }
+
+    @Test
+    public void testPollsWithGapAreNotMerged() {
+        List<PollTask> planned = ModbusPollPlanner
+                .plan(Arrays.asList(task(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 0, 5, null),
+                        task(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 6, 5, null)));
+        assertThat(planned.size(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testMaximumReadLengthIsRespected() {
+        List<PollTask> registers = ModbusPollPlanner
+                .plan(Arrays.asList(task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 100, null),
+                        task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 100, 25, null),
+                        task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 125, 1, null)));
+        assertThat(registers.size(), is(equalTo(2)));
+        assertThat(registers.get(0).getRequest().getDataLength(), is(equalTo(125)));
+        assertThat(registers.get(1).getRequest().getReference(), is(equalTo(125)));
+
+        List<PollTask> coils = ModbusPollPlanner
+                .plan(Arrays.asList(task(ModbusReadFunctionCode.READ_COILS, 0, 1000, null),
+                        task(ModbusReadFunctionCode.READ_COILS, 1000, 1000, null)));
+        assertThat(coils.size(), is(equalTo(1)));
+        assertThat(coils.get(0).getRequest().getDataLength(), is(equalTo(2000)));
+    }
+
+    @Test
+    public void testRegistersAreSlicedForOriginalCallbacks() {
+        ModbusReadCallback callback1 = mock(ModbusReadCallback.class);
+        ModbusReadCallback callback2 = mock(ModbusReadCallback.class);
+        PollTask task1 = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2, callback1);
+        PollTask task2 = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 1, 3, callback2);
+        List<PollTask> planned = ModbusPollPlanner.plan(Arrays.asList(task1, task2));
+        assertThat(planned.size(), is(equalTo(1)));
+
+        PollTask merged = planned.get(0);
+        merged.getCallback().onRegisters(merged.getRequest(), new BasicModbusRegisterArray(10, 11, 12, 13));
+
+        ArgumentCaptor<ModbusRegisterArray> registers1 = ArgumentCaptor.forClass(ModbusRegisterArray.class);
+        verify(callback1).onRegisters(same(task1.getRequest()), registers1.capture());
+        assertThat(registers1.getValue().size(), is(equalTo(2)));
+        assertThat(registers1.getValue().getRegister(0).getValue(), is(equalTo(10)));
+        assertThat(registers1.getValue().getRegister(1).getValue(), is(equalTo(11)));
+
+        ArgumentCaptor<ModbusRegisterArray> registers2 = ArgumentCaptor.forClass(ModbusRegisterArray.class);
+        verify(callback2).onRegisters(same(task2.getRequest()), registers2.capture());
+        assertThat(registers2.getValue().size(), is(equalTo(3)));
+        assertThat(registers2.getValue().getRegister(0).getValue(), is(equalTo(11)));
+        assertThat(registers2.getValue().getRegister(2).getValue(), is(equalTo(13)));
+    }
+
+    @Test
+    public void testBitsAndErrorsAreForwardedToOriginalCallbacks() {
+        ModbusReadCallback callback1 = mock(ModbusReadCallback.class);
+        ModbusReadCallback callback2 = mock(ModbusReadCallback.class);
+        PollTask task1 = task(ModbusReadFunctionCode.READ_COILS, 0, 2, callback1);
+        PollTask task2 = task(ModbusReadFunctionCode.READ_COILS, 2, 2, callback2);
+        PollTask merged = ModbusPollPlanner.plan(Arrays.asList(task1, task2)).get(0);
+
+        merged.getCallback().onBits(merged.getRequest(), new BasicBitArray(true, false, false, true));
+        verify(callback1).onBits(same(task1.getRequest()), argThat(bits -> bitsEqual(bits, true, false)));
+        verify(callback2).onBits(same(task2.getRequest()), argThat(bits -> bitsEqual(bits, false, true)));
+
+        Exception error = new Exception("failure");
+        merged.getCallback().onError(merged.getRequest(), error);
+        verify(callback1).onError(same(task1.getRequest()), same(error));
+        verify(callback2).onError(same(task2.getRequest()), same(error));
+    }
+
+    private static boolean bitsEqual(BitArray bits, boolean... expected) {
+        return new BasicBitArray(expected).sizeAndValuesEquals(bits);
+    }
+
+    @Test
+    public void testExecuteSkipsUnregisteredPolls() throws InterruptedException {
+        ModbusPollPlanner planner = new ModbusPollPlanner();
+        PollTask task = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2, null);
+        @SuppressWarnings("unchecked")
+        Consumer<PollTask> executor = mock(Consumer.class);
+
+        planner.execute(task, t -> true, executor);
+        verify(executor).accept(same(task));
+
+        planner.execute(task, t -> false, executor);
+        verifyNoMoreInteractions(executor);
+    }
+}
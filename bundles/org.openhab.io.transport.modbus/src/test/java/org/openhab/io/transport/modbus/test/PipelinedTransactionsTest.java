@@ -0,0 +1,229 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.ModbusManagerImpl;
+
+import net.wimpi.modbus.io.ModbusTransport;
+import net.wimpi.modbus.net.TCPSlaveConnection;
+import net.wimpi.modbus.procimg.SimpleRegister;
+
+/**
+ * Tests pipelined TCP transactions against the local slave simulator
+ *
+ * @author agent - Initial contribution
+ */
+public class PipelinedTransactionsTest extends IntegrationTestSupport {
+
+    private static final int REGISTERS = 100;
+    private static final int REQUESTS = 200;
+    private static final int MAX_PIPELINED_TRANSACTIONS = 4;
+
+    /**
+     * Length of a read multiple registers request for five registers: MBAP header, function code, reference and count
+     */
+    private static final int REQUEST_LENGTH = 12;
+
+    /**
+     * Length of the response to such a request: MBAP header, function code, byte count and five registers
+     */
+    private static final int RESPONSE_LENGTH = 19;
+
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @Test
+    public void testPipelinedReads() throws InterruptedException {
+        // Count the transactions the simulator has received but not yet answered
+        doAnswer(invocation -> new TCPSlaveConnection(invocation.getArgument(0), new CountingTransportFactory()))
+                .when(tcpConnectionFactory).create(any(Socket.class));
+        for (int i = 0; i < REGISTERS; i++) {
+            spi.addRegister(new SimpleRegister(i));
+        }
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+        EndpointPoolConfiguration config = new EndpointPoolConfiguration();
+        config.setInterTransactionDelayMillis(ModbusManagerImpl.DEFAULT_TCP_INTER_TRANSACTION_DELAY_MILLIS);
+        config.setMaxPipelinedTransactions(MAX_PIPELINED_TRANSACTIONS);
+        modbusManager.setEndpointPoolConfiguration(endpoint, config);
+
+        AtomicInteger unexpectedCount = new AtomicInteger();
+        CountDownLatch callbackCalled = new CountDownLatch(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            int reference = i % (REGISTERS - 5);
+            modbusManager.submitOneTimePoll(new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(
+                    SLAVE_UNIT_ID, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, reference, 5, 1),
+                    new ModbusReadCallback() {
+
+                        @Override
+                        public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+                            // each request must receive its own data
+                            if (registers.size() != 5 || registers.getRegister(0).getValue() != reference) {
+                                unexpectedCount.incrementAndGet();
+                            }
+                            callbackCalled.countDown();
+                        }
+
+                        @Override
+                        public void onError(ModbusReadRequestBlueprint request, Exception error) {
+                            unexpectedCount.incrementAndGet();
+                            callbackCalled.countDown();
+                        }
+
+                        @Override
+                        public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+                            unexpectedCount.incrementAndGet();
+                            callbackCalled.countDown();
+                        }
+                    }));
+        }
+
+        assertTrue(callbackCalled.await(30, TimeUnit.SECONDS));
+        assertThat(unexpectedCount.get(), is(equalTo(0)));
+        // all transactions share a single connection
+        waitForConnectionsReceived(1);
+        // strict request/response never has more than one transaction in flight
+        assertTrue(maxInFlight.get() > 1);
+        assertTrue(maxInFlight.get() <= MAX_PIPELINED_TRANSACTIONS);
+    }
+
+    /**
+     * Transport factory handing the slave transport a socket that counts the request and response bytes
+     */
+    private class CountingTransportFactory extends SpyingModbusTCPTransportFactory {
+
+        @Override
+        public ModbusTransport create(Socket socket) {
+            return super.create(new CountingSocket(socket));
+        }
+    }
+
+    /**
+     * Socket delegating to the accepted socket. Every time the slave reads from it, the transactions whose request
+     * has been received but whose response has not been written yet are counted.
+     */
+    private class CountingSocket extends Socket {
+        private final Socket socket;
+        private long bytesRead;
+        private long bytesWritten;
+
+        private CountingSocket(Socket socket) {
+            this.socket = socket;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(socket.getInputStream()) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b >= 0) {
+                        received(1);
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int count = super.read(b, off, len);
+                    if (count > 0) {
+                        received(count);
+                    }
+                    return count;
+                }
+            };
+        }
+
+        @Override
+        public OutputStream getOutputStream() throws IOException {
+            return new FilterOutputStream(socket.getOutputStream()) {
+                @Override
+                public void write(int b) throws IOException {
+                    super.write(b);
+                    bytesWritten++;
+                }
+            };
+        }
+
+        private void received(int count) {
+            bytesRead += count;
+            int inFlight = (int) (bytesRead / REQUEST_LENGTH - bytesWritten / RESPONSE_LENGTH);
+            maxInFlight.accumulateAndGet(inFlight, Math::max);
+        }
+
+        @Override
+        public InetAddress getInetAddress() {
+            return socket.getInetAddress();
+        }
+
+        @Override
+        public int getPort() {
+            return socket.getPort();
+        }
+
+        @Override
+        public int getLocalPort() {
+            return socket.getLocalPort();
+        }
+
+        @Override
+        public boolean isConnected() {
+            return socket.isConnected();
+        }
+
+        @Override
+        public boolean isClosed() {
+            return socket.isClosed();
+        }
+
+        @Override
+        public synchronized void setSoTimeout(int timeout) throws SocketException {
+            socket.setSoTimeout(timeout);
+        }
+
+        @Override
+        public synchronized int getSoTimeout() throws SocketException {
+            return socket.getSoTimeout();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            socket.close();
+        }
+    }
+}
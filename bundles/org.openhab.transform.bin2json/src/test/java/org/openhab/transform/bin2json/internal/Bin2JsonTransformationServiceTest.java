@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.bin2json.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class Bin2JsonTransformationServiceTest {
+
+    private Bin2JsonTransformationService processor;
+
+    @Before
+    public void init() {
+        processor = new Bin2JsonTransformationService();
+    }
+
+    @Test
+    public void testTransform() throws TransformationException {
+        assertEquals("{\"a\":3,\"b\":-6,\"c\":255}", processor.transform("byte a; byte b; ubyte c;", "03FAFF"));
+        assertEquals("{\"a\":3,\"b\":-6,\"c\":255}", processor.transform("byte a; byte b; ubyte c;", "03FAFF"));
+    }
+
+    @Test
+    public void testTransformWithMoreSyntaxesThanPreparedParsers() throws TransformationException {
+        // the prepared parsers are dropped when the 65th syntax is used
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 100; i++) {
+                assertEquals("{\"a" + i + "\":3,\"b\":255}", processor.transform("byte a" + i + "; ubyte b;", "03FF"));
+            }
+        }
+    }
+}
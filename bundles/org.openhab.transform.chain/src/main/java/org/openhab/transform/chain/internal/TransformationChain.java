@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.chain.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.eclipse.smarthome.core.transform.TransformationHelper;
+import org.eclipse.smarthome.core.transform.TransformationService;
+
+/**
+ * A chain of transformations, like <code>JSONPATH:$.temperature∩REGEX:(.*)\..*∩MAP:temperature.map</code>.
+ *
+ * <p>
+ * The pattern is parsed once when the chain is created. Each value is then passed through all transformations in
+ * order, using the transformation services by their type. If a transformation returns <code>null</code>, the chain
+ * stops and returns <code>null</code>.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TransformationChain {
+
+    /** Delimiter between the transformations of a chain, the same as used by the MQTT binding */
+    public static final String DELIMITER = "∩";
+
+    private final List<Step> steps;
+    private final String sourceFormat;
+    private final Function<String, @Nullable TransformationService> serviceLookup;
+
+    /**
+     * Creates a new transformation chain.
+     *
+     * @param pattern the transformations, each consisting of the service type and the function separated by a colon,
+     *            delimited by {@link #DELIMITER}
+     * @param sourceFormat the format applied to the value before the first transformation
+     * @param serviceLookup returns the transformation service for a type, or null if it is not available
+     * @throws IllegalArgumentException if the pattern does not contain a valid transformation
+     */
+    public TransformationChain(String pattern, String sourceFormat,
+            Function<String, @Nullable TransformationService> serviceLookup) {
+        List<Step> steps = new ArrayList<>();
+        for (String transformation : pattern.split(DELIMITER)) {
+            if (transformation.trim().isEmpty()) {
+                continue;
+            }
+            int index = transformation.indexOf(':');
+            if (index == -1) {
+                throw new IllegalArgumentException(
+                        "The transformation pattern must consist of the type and the pattern separated by a colon");
+            }
+            steps.add(new Step(transformation.substring(0, index).trim().toUpperCase(),
+                    transformation.substring(index + 1)));
+        }
+        if (steps.isEmpty()) {
+            throw new IllegalArgumentException("The transformation chain must contain at least one transformation");
+        }
+        this.steps = Collections.unmodifiableList(steps);
+        this.sourceFormat = sourceFormat;
+        this.serviceLookup = serviceLookup;
+    }
+
+    /**
+     * Passes the given value through all transformations of this chain.
+     *
+     * @param value the value to transform
+     * @return the transformed value or null if one of the transformations returned null
+     * @throws TransformationException if a transformation service is not available or a transformation failed
+     */
+    public @Nullable String apply(String value) throws TransformationException {
+        String result = value;
+        for (int i = 0; i < steps.size(); i++) {
+            Step step = steps.get(i);
+            TransformationService service = serviceLookup.apply(step.type);
+            if (service == null) {
+                throw new TransformationException("Transformation service " + step.type + " is not available");
+            }
+            @Nullable
+            String transformed;
+            if (i == 0) {
+                transformed = TransformationHelper.transform(service, step.function, sourceFormat, result);
+            } else {
+                transformed = service.transform(step.function, result);
+            }
+            if (transformed == null) {
+                return null;
+            }
+            result = transformed;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return steps.toString();
+    }
+
+    private static class Step {
+        private final String type;
+        private final String function;
+
+        Step(String type, String function) {
+            this.type = type;
+            this.function = function;
+        }
+
+        @Override
+        public String toString() {
+            return type + "(" + function + ")";
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.chain.internal.profiles;
+
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.thing.profiles.ProfileCallback;
+import org.eclipse.smarthome.core.thing.profiles.ProfileContext;
+import org.eclipse.smarthome.core.thing.profiles.ProfileTypeUID;
+import org.eclipse.smarthome.core.thing.profiles.StateProfile;
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.eclipse.smarthome.core.transform.TransformationService;
+import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.core.types.Type;
+import org.openhab.transform.chain.internal.TransformationChain;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Profile to apply a chain of transformations on a ItemChannelLink. The chain is parsed once when the profile is
+ * created.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ChainTransformationProfile implements StateProfile {
+
+    public static final ProfileTypeUID PROFILE_TYPE_UID = new ProfileTypeUID(
+            TransformationService.TRANSFORM_PROFILE_SCOPE, "CHAIN");
+
+    private final Logger logger = LoggerFactory.getLogger(ChainTransformationProfile.class);
+
+    private final ProfileCallback callback;
+
+    private static final String FUNCTION_PARAM = "function";
+    private static final String SOURCE_FORMAT_PARAM = "sourceFormat";
+
+    private final @Nullable TransformationChain chain;
+
+    public ChainTransformationProfile(ProfileCallback callback, ProfileContext context,
+            Function<String, @Nullable TransformationService> serviceLookup) {
+        this.callback = callback;
+
+        Object paramFunction = context.getConfiguration().get(FUNCTION_PARAM);
+        Object paramSource = context.getConfiguration().get(SOURCE_FORMAT_PARAM);
+
+        logger.debug("Profile configured with '{}'='{}', '{}'={}", FUNCTION_PARAM, paramFunction, SOURCE_FORMAT_PARAM,
+                paramSource);
+        // SOURCE_FORMAT_PARAM is an advanced parameter and we assume "%s" if it is not set
+        if (paramSource == null) {
+            paramSource = "%s";
+        }
+        @Nullable
+        TransformationChain chain = null;
+        if (paramFunction instanceof String && paramSource instanceof String) {
+            try {
+                chain = new TransformationChain((String) paramFunction, (String) paramSource, serviceLookup);
+            } catch (IllegalArgumentException e) {
+                logger.error("Parameter '{}' is not a valid transformation chain: {}. Profile will be inactive.",
+                        FUNCTION_PARAM, e.getMessage());
+            }
+        } else {
+            logger.error("Parameter '{}' and '{}' have to be Strings. Profile will be inactive.", FUNCTION_PARAM,
+                    SOURCE_FORMAT_PARAM);
+        }
+        this.chain = chain;
+    }
+
+    @Override
+    public ProfileTypeUID getProfileTypeUID() {
+        return PROFILE_TYPE_UID;
+    }
+
+    @Override
+    public void onStateUpdateFromItem(State state) {
+        callback.handleUpdate(state);
+    }
+
+    @Override
+    public void onCommandFromItem(Command command) {
+        callback.handleCommand(command);
+    }
+
+    @Override
+    public void onCommandFromHandler(Command command) {
+        TransformationChain chain = this.chain;
+        if (chain == null) {
+            logger.warn(
+                    "Please specify a transformation chain and a source format for this Profile in the '{}', and '{}' parameters. Returning the original command now.",
+                    FUNCTION_PARAM, SOURCE_FORMAT_PARAM);
+            callback.sendCommand(command);
+            return;
+        }
+        callback.sendCommand((Command) transformState(chain, command));
+    }
+
+    @Override
+    public void onStateUpdateFromHandler(State state) {
+        TransformationChain chain = this.chain;
+        if (chain == null) {
+            logger.warn(
+                    "Please specify a transformation chain and a source format for this Profile in the '{}' and '{}' parameters. Returning the original state now.",
+                    FUNCTION_PARAM, SOURCE_FORMAT_PARAM);
+            callback.sendUpdate(state);
+            return;
+        }
+        callback.sendUpdate((State) transformState(chain, state));
+    }
+
+    private Type transformState(TransformationChain chain, Type state) {
+        @Nullable
+        String result = state.toFullString();
+        try {
+            result = chain.apply(state.toFullString());
+        } catch (TransformationException e) {
+            logger.warn("Could not transform state '{}' with chain '{}': {}", state, chain, e.getMessage());
+        }
+        StringType resultType = new StringType(result);
+        logger.debug("Transformed '{}' into '{}'", state, resultType);
+        return resultType;
+    }
+}
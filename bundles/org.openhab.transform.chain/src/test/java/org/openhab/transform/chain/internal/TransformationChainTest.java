@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.chain.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.eclipse.smarthome.core.transform.TransformationService;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class TransformationChainTest {
+
+    private final Map<String, TransformationService> services = new HashMap<>();
+
+    @Before
+    public void init() {
+        services.put("UPPER", (function, source) -> source.toUpperCase());
+        services.put("PREFIX", (function, source) -> function + source);
+        services.put("NULL", (function, source) -> null);
+    }
+
+    @Test
+    public void testSingleTransformation() throws TransformationException {
+        TransformationChain chain = new TransformationChain("UPPER:", "%s", services::get);
+        assertEquals("VALUE", chain.apply("value"));
+    }
+
+    @Test
+    public void testTransformationsAppliedInOrder() throws TransformationException {
+        TransformationChain chain = new TransformationChain("prefix:a-∩UPPER:∩PREFIX:b-", "%s", services::get);
+        assertEquals("b-A-VALUE", chain.apply("value"));
+    }
+
+    @Test
+    public void testChainStopsOnNull() throws TransformationException {
+        TransformationChain chain = new TransformationChain("NULL:∩UPPER:", "%s", services::get);
+        assertNull(chain.apply("value"));
+    }
+
+    @Test(expected = TransformationException.class)
+    public void testMissingService() throws TransformationException {
+        TransformationChain chain = new TransformationChain("UPPER:∩UNKNOWN:x", "%s", services::get);
+        chain.apply("value");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPattern() {
+        new TransformationChain("UPPER", "%s", services::get);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyPattern() {
+        new TransformationChain(" ∩ ", "%s", services::get);
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.script.CompiledScript;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * A compiled JavaScript together with statistics about its executions.
+ *
+ * <p>
+ * Nashorn cannot stop a running script, so an execution which exceeded the timeout keeps running in the background.
+ * These overdue executions are counted, which allows to refuse further executions of the script until they finished.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CachedScript {
+
+    private final CompiledScript compiledScript;
+
+    private final AtomicInteger overdueExecutions = new AtomicInteger();
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong totalExecutionNanos = new AtomicLong();
+    private final AtomicLong maxExecutionNanos = new AtomicLong();
+
+    CachedScript(CompiledScript compiledScript) {
+        this.compiledScript = compiledScript;
+    }
+
+    public CompiledScript getCompiledScript() {
+        return compiledScript;
+    }
+
+    /**
+     * Marks an execution as still running after its caller gave up waiting for it.
+     */
+    void executionOverdue() {
+        overdueExecutions.incrementAndGet();
+    }
+
+    /**
+     * Marks an execution passed to {@link #executionOverdue()} as finished.
+     */
+    void overdueExecutionFinished() {
+        overdueExecutions.decrementAndGet();
+    }
+
+    /**
+     * @return true if an execution which exceeded the timeout is still running
+     */
+    public boolean hasOverdueExecution() {
+        return overdueExecutions.get() > 0;
+    }
+
+    /**
+     * Records the duration of a single execution of the script.
+     *
+     * @param nanos the execution time in nanoseconds
+     */
+    public void recordExecution(long nanos) {
+        executions.incrementAndGet();
+        totalExecutionNanos.addAndGet(nanos);
+        maxExecutionNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getExecutionCount() {
+        return executions.get();
+    }
+
+    public long getAverageExecutionTime(TimeUnit unit) {
+        long count = executions.get();
+        return count == 0 ? 0 : unit.convert(totalExecutionNanos.get() / count, TimeUnit.NANOSECONDS);
+    }
+
+    public long getMaxExecutionTime(TimeUnit unit) {
+        return unit.convert(maxExecutionNanos.get(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -45,30 +45,37 @@ public class JavaScriptEngineManager {
     private final Logger logger = LoggerFactory.getLogger(JavaScriptEngineManager.class);
     private final ScriptEngineManager manager = new ScriptEngineManager();
     /* keep memory foot print low. max 2 concurrent threads are estimated */
-    private final Map<String, CompiledScript> compiledScriptMap = new ConcurrentHashMap<>(4, 0.5f, 2);
+    private final Map<String, CachedScript> compiledScriptMap = new ConcurrentHashMap<>(4, 0.5f, 2);
 
     /**
      * Get a pre compiled script {@link CompiledScript} from cache. If it is not in the cache, then load it from
      * storage and put a pre compiled version into the cache.
      *
      * @param filename name of the JavaScript file to load
-     * @return a pre compiled script {@link CompiledScript}
+     * @return a pre compiled script {@link CompiledScript} with its execution statistics
      * @throws TransformationException if compile of JavaScript failed
      */
-    protected CompiledScript getScript(final String filename) throws TransformationException {
+    protected CachedScript getScript(final String filename) throws TransformationException {
+        CachedScript cachedScript = compiledScriptMap.get(filename);
+        if (cachedScript != null) {
+            logger.debug("Loading JavaScript {} from cache.", filename);
+            return cachedScript;
+        }
         synchronized (compiledScriptMap) {
-            if (compiledScriptMap.containsKey(filename)) {
+            cachedScript = compiledScriptMap.get(filename);
+            if (cachedScript != null) {
                 logger.debug("Loading JavaScript {} from cache.", filename);
-                return compiledScriptMap.get(filename);
+                return cachedScript;
             } else {
-                final String path = TransformationScriptWatcher.TRANSFORM_FOLDER + File.separator + filename;
+                final String path = getSourcePath() + filename;
                 logger.debug("Loading script {} from storage ", path);
                 try (final Reader reader = new InputStreamReader(new FileInputStream(path))) {
                     final ScriptEngine engine = manager.getEngineByName("javascript");
                     final CompiledScript cScript = ((Compilable) engine).compile(reader);
                     logger.debug("Putting compiled JavaScript {} to cache.", cScript);
-                    compiledScriptMap.put(filename, cScript);
-                    return cScript;
+                    final CachedScript script = new CachedScript(cScript);
+                    compiledScriptMap.put(filename, script);
+                    return script;
                 } catch (IOException | ScriptException e) {
                     throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(),
                             e);
@@ -77,6 +84,15 @@ public class JavaScriptEngineManager {
         }
     }
 
+    /**
+     * Returns the path of the folder the JavaScript files are loaded from.
+     *
+     * @return the transformation folder, ending with a separator
+     */
+    protected String getSourcePath() {
+        return TransformationScriptWatcher.TRANSFORM_FOLDER + File.separator;
+    }
+
     /**
      * remove a pre compiled script from cache.
      *
@@ -12,15 +12,25 @@
  */
 package org.openhab.transform.javascript.internal;
 
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import javax.script.Bindings;
-import javax.script.CompiledScript;
 import javax.script.ScriptException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,11 +43,43 @@ import org.slf4j.LoggerFactory;
  * @author Thomas Kordelle - pre compiled scripts
  */
 @NonNullByDefault
-@Component(immediate = true, property = { "smarthome.transform=JS" })
+@Component(immediate = true, configurationPid = "org.openhab.javascript", property = { "smarthome.transform=JS" })
 public class JavaScriptTransformationService implements TransformationService {
 
+    /**
+     * Configuration parameter for the maximum execution time of a script in milliseconds, 0 means no limit
+     */
+    private static final String CONFIG_TIMEOUT = "timeout";
+
+    /**
+     * States of an execution with timeout
+     */
+    private static final int QUEUED = 0;
+    private static final int RUNNING = 1;
+    private static final int FINISHED = 2;
+    private static final int OVERDUE = 3;
+    private static final int ABANDONED = 4;
+
+    private static final String THREAD_POOL_NAME = "javascript-transformation";
+
     private Logger logger = LoggerFactory.getLogger(JavaScriptTransformationService.class);
     private @NonNullByDefault({}) JavaScriptEngineManager manager;
+    private final ExecutorService executor = ThreadPoolManager.getPool(THREAD_POOL_NAME);
+
+    private volatile long timeout = 0;
+
+    @Activate
+    @Modified
+    protected void modified(@Nullable Map<String, Object> config) {
+        Object timeoutParam = config == null ? null : config.get(CONFIG_TIMEOUT);
+        try {
+            timeout = timeoutParam == null ? 0 : Long.parseLong(timeoutParam.toString());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value '{}' for parameter '{}', scripts will run without a time limit.", timeoutParam,
+                    CONFIG_TIMEOUT);
+            timeout = 0;
+        }
+    }
 
     @Reference
     public void setJavaScriptEngineManager(JavaScriptEngineManager manager) {
@@ -65,22 +107,89 @@ public class JavaScriptTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        final long startTime = System.currentTimeMillis();
+        final long startTime = System.nanoTime();
         logger.debug("about to transform '{}' by the JavaScript '{}'", source, filename);
 
         String result = "";
+        @Nullable
+        CachedScript script = null;
 
         try {
-            final CompiledScript cScript = manager.getScript(filename);
-            final Bindings bindings = cScript.getEngine().createBindings();
+            script = manager.getScript(filename);
+            final Bindings bindings = script.getCompiledScript().getEngine().createBindings();
             bindings.put("input", source);
-            result = String.valueOf(cScript.eval(bindings));
+            result = String.valueOf(eval(filename, script, bindings));
             return result;
         } catch (ScriptException e) {
             throw new TransformationException("An error occurred while executing script. " + e.getMessage(), e);
         } finally {
-            logger.trace("JavaScript execution elapsed {} ms. Result: {}", System.currentTimeMillis() - startTime,
-                    result);
+            final long elapsed = System.nanoTime() - startTime;
+            if (script != null) {
+                script.recordExecution(elapsed);
+                logger.trace("JavaScript execution elapsed {} ms (average {} ms, max {} ms). Result: {}",
+                        TimeUnit.NANOSECONDS.toMillis(elapsed), script.getAverageExecutionTime(TimeUnit.MILLISECONDS),
+                        script.getMaxExecutionTime(TimeUnit.MILLISECONDS), result);
+            }
+        }
+    }
+
+    /**
+     * Evaluates the script, in a separate thread if a timeout is configured.
+     *
+     * A script cannot be stopped, so the timeout only releases the caller while the script keeps running in the
+     * background. Further executions of such a script are refused until it finished, so that a runaway script blocks
+     * at most one thread of the pool.
+     */
+    private @Nullable Object eval(String filename, CachedScript script, Bindings bindings)
+            throws ScriptException, TransformationException {
+        final long timeout = this.timeout;
+        if (timeout <= 0) {
+            return script.getCompiledScript().eval(bindings);
+        }
+        if (script.hasOverdueExecution()) {
+            throw new TransformationException("JavaScript '" + filename
+                    + "' is not executed while an execution which exceeded the timeout is still running");
+        }
+
+        final AtomicInteger state = new AtomicInteger(QUEUED);
+        final Future<@Nullable Object> future = executor.submit(() -> {
+            if (!state.compareAndSet(QUEUED, RUNNING)) {
+                // the caller does not wait for the result anymore
+                return null;
+            }
+            try {
+                return script.getCompiledScript().eval(bindings);
+            } finally {
+                if (!state.compareAndSet(RUNNING, FINISHED)) {
+                    script.overdueExecutionFinished();
+                    logger.debug("JavaScript '{}' finished after exceeding the timeout", filename);
+                }
+            }
+        });
+        try {
+            return future.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            giveUp(filename, script, state, future);
+            throw new TransformationException("JavaScript execution exceeded the timeout of " + timeout + " ms");
+        } catch (InterruptedException e) {
+            giveUp(filename, script, state, future);
+            Thread.currentThread().interrupt();
+            throw new TransformationException("JavaScript execution was interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ScriptException) {
+                throw (ScriptException) cause;
+            }
+            throw new TransformationException("An error occurred while executing script. " + e.getMessage(), e);
+        }
+    }
+
+    private void giveUp(String filename, CachedScript script, AtomicInteger state, Future<?> future) {
+        if (state.compareAndSet(RUNNING, OVERDUE)) {
+            script.executionOverdue();
+            logger.warn("JavaScript '{}' exceeded the timeout and keeps running in the background", filename);
+        } else if (state.compareAndSet(QUEUED, ABANDONED)) {
+            future.cancel(false);
         }
     }
 }
@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class JavaScriptTransformationServiceTest {
+
+    private static final String BASE_FOLDER = "target";
+    private static final String TRANSFORM_FOLDER = BASE_FOLDER + File.separator
+            + TransformationScriptWatcher.TRANSFORM_FOLDER;
+    private static final File SCRIPT_FOLDER = new File(TRANSFORM_FOLDER, "js-test");
+
+    private static final String GLOBAL_SCRIPT = "js-test/global.js";
+    private static final String SLOW_SCRIPT = "js-test/slow.js";
+
+    private JavaScriptTransformationService processor;
+
+    private static class TestableJavaScriptEngineManager extends JavaScriptEngineManager {
+        @Override
+        protected String getSourcePath() {
+            return BASE_FOLDER + File.separator + super.getSourcePath();
+        }
+    }
+
+    @BeforeClass
+    public static void createScripts() throws IOException {
+        SCRIPT_FOLDER.mkdirs();
+        // the global is only assigned for some inputs
+        write(GLOBAL_SCRIPT, "var greeting;\nif (input != '') { greeting = 'Hello ' + input; }\n"
+                + "typeof greeting === 'undefined' ? 'none' : greeting");
+        write(SLOW_SCRIPT, "var end = Date.now() + 200;\nwhile (Date.now() < end) {}\ninput");
+    }
+
+    private static void write(String filename, String script) throws IOException {
+        Files.write(new File(TRANSFORM_FOLDER, filename).toPath(), script.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterClass
+    public static void cleanUp() {
+        new File(TRANSFORM_FOLDER, GLOBAL_SCRIPT).delete();
+        new File(TRANSFORM_FOLDER, SLOW_SCRIPT).delete();
+        SCRIPT_FOLDER.delete();
+    }
+
+    @Before
+    public void setUp() {
+        processor = new JavaScriptTransformationService();
+        processor.setJavaScriptEngineManager(new TestableJavaScriptEngineManager());
+        processor.modified(null);
+    }
+
+    @Test
+    public void testGlobalsAreNotSharedBetweenTransformations() throws TransformationException {
+        assertEquals("Hello world", processor.transform(GLOBAL_SCRIPT, "world"));
+        assertEquals("none", processor.transform(GLOBAL_SCRIPT, ""));
+    }
+
+    @Test
+    public void testGlobalsAreNotSharedWithTimeout() throws TransformationException {
+        processor.modified(Collections.singletonMap("timeout", "5000"));
+
+        assertEquals("Hello world", processor.transform(GLOBAL_SCRIPT, "world"));
+        assertEquals("none", processor.transform(GLOBAL_SCRIPT, ""));
+    }
+
+    @Test
+    public void testScriptIsRefusedWhileOverdue() throws Exception {
+        processor.modified(Collections.singletonMap("timeout", "100"));
+
+        try {
+            processor.transform(SLOW_SCRIPT, "first");
+            fail("timeout expected");
+        } catch (TransformationException e) {
+            assertTrue(e.getMessage().contains("timeout of 100 ms"));
+        }
+
+        try {
+            processor.transform(SLOW_SCRIPT, "second");
+            fail("refused execution expected");
+        } catch (TransformationException e) {
+            assertTrue(e.getMessage().contains("is still running"));
+        }
+
+        // other scripts are not affected
+        assertEquals("Hello world", processor.transform(GLOBAL_SCRIPT, "world"));
+    }
+}
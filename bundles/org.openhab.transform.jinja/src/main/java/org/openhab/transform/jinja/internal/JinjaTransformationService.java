@@ -14,11 +14,14 @@ package org.openhab.transform.jinja.internal;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -31,11 +34,22 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.Context;
+import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.interpret.TemplateError.ErrorType;
+import com.hubspot.jinjava.tree.Node;
 
 /**
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by Jinja2 Expressions.
  *
+ * <p>
+ * Parsed templates are cached by their text and shared between threads, as they are not modified while rendering.
+ * Each rendering uses its own interpreter and context. The JSON structure of the last value is reused as long as
+ * the same value is transformed again, e.g. by several channels subscribed to the same topic.
+ *
  * @author Jochen Klein - Initial contribution
  *
  */
@@ -45,8 +59,28 @@ public class JinjaTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(JinjaTransformationService.class);
 
+    /**
+     * Discovered MQTT things may bring a template for every channel, so the cache allows for a few hundred of them
+     * before dropping the least recently rendered ones.
+     */
+    private static final int MAX_CACHED_TEMPLATES = 256;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     private Jinjava jinjava = new Jinjava();
 
+    private final Map<String, Node> templateCache = Collections
+            .synchronizedMap(new LinkedHashMap<String, Node>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.@Nullable Entry<String, Node> eldest) {
+                    return size() > MAX_CACHED_TEMPLATES;
+                }
+            });
+
+    private volatile @Nullable ParsedValue lastValue;
+
     /**
      * Transforms the input <code>value</code> by Jinja template.
      *
@@ -60,19 +94,57 @@ public class JinjaTransformationService implements TransformationService {
 
         Map<String, @Nullable Object> bindings = new HashMap<>();
         bindings.put("value", value);
+        bindings.put("value_json", parseJson(value));
+
+        String transformationResult = render(template, bindings);
+
+        logger.debug("transformation resulted in '{}'", transformationResult);
+
+        return transformationResult;
+    }
 
+    private @Nullable Object parseJson(String value) {
+        ParsedValue parsed = lastValue;
+        if (parsed != null && parsed.value.equals(value)) {
+            return parsed.json;
+        }
+        @Nullable
+        Object json;
         try {
-            JsonNode tree = new ObjectMapper().readTree(value);
-            bindings.put("value_json", toObject(tree));
+            JsonNode tree = OBJECT_MAPPER.readTree(value);
+            json = toObject(tree);
         } catch (IOException e) {
             // ok, then value_json is null...
+            json = null;
         }
+        lastValue = new ParsedValue(value, json);
+        return json;
+    }
 
-        String transformationResult = jinjava.render(template, bindings);
-
-        logger.debug("transformation resulted in '{}'", transformationResult);
+    private String render(String template, Map<String, @Nullable Object> bindings) {
+        Context context = new Context(jinjava.getGlobalContext(), bindings);
+        JinjavaInterpreter interpreter = new JinjavaInterpreter(jinjava, context, jinjava.getGlobalConfig());
+        JinjavaInterpreter.pushCurrent(interpreter);
+        try {
+            Node root = templateCache.get(template);
+            if (root == null) {
+                root = interpreter.parse(template);
+                // templates with syntax errors are parsed again, so that the errors are reported on every call
+                if (interpreter.getErrorsCopy().isEmpty()) {
+                    templateCache.put(template, root);
+                }
+            }
+            String result = interpreter.render(root);
 
-        return transformationResult;
+            List<TemplateError> fatalErrors = interpreter.getErrorsCopy().stream()
+                    .filter(error -> error.getSeverity() == ErrorType.FATAL).collect(Collectors.toList());
+            if (!fatalErrors.isEmpty()) {
+                throw new FatalTemplateErrorsException(template, fatalErrors);
+            }
+            return result;
+        } finally {
+            JinjavaInterpreter.popCurrent();
+        }
     }
 
     private static @Nullable Object toObject(JsonNode node) {
@@ -104,4 +176,14 @@ public class JinjaTransformationService implements TransformationService {
                 return null;
         }
     }
+
+    private static class ParsedValue {
+        private final String value;
+        private final @Nullable Object json;
+
+        ParsedValue(String value, @Nullable Object json) {
+            this.value = value;
+            this.json = json;
+        }
+    }
 }
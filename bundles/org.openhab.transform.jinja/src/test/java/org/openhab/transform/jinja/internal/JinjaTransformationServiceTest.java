@@ -58,4 +58,14 @@ public class JinjaTransformationServiceTest {
         // Asserts
         Assert.assertEquals("Hello world!", transformedResponse);
     }
+
+    @Test
+    public void testRepeatedTransformations() throws TransformationException {
+        String json = "{\"Temperature\":4.7,\"Humidity\":99.9}";
+
+        Assert.assertEquals("4.7", processor.transform("{{value_json.Temperature}}", json));
+        Assert.assertEquals("99.9", processor.transform("{{value_json.Humidity}}", json));
+        Assert.assertEquals("4.7", processor.transform("{{value_json.Temperature}}", json));
+        Assert.assertEquals("5.2", processor.transform("{{value_json.Temperature}}", "{\"Temperature\":5.2}"));
+    }
 }
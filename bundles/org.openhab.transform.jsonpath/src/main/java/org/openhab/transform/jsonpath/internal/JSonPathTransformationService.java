@@ -24,6 +24,7 @@ import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
@@ -43,6 +44,11 @@ public class JSonPathTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    /**
+     * The last parsed document, so that several channels transforming the same payload only parse it once
+     */
+    private volatile @Nullable ParsedDocument lastDocument;
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -60,15 +66,7 @@ public class JSonPathTransformationService implements TransformationService {
         logger.debug("about to transform '{}' by the function '{}'", source, jsonPathExpression);
 
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
-            logger.debug("transformation resulted in '{}'", transformationResult);
-            if (transformationResult == null) {
-                return null;
-            } else if (transformationResult instanceof List) {
-                return flattenList((List<?>) transformationResult);
-            } else {
-                return transformationResult.toString();
-            }
+            return toResultString(readPath(parse(source), jsonPathExpression));
         } catch (PathNotFoundException e) {
             throw new TransformationException("Invalid path '" + jsonPathExpression + "' in '" + source + "'");
         } catch (InvalidPathException | InvalidJsonException e) {
@@ -76,6 +74,33 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    private DocumentContext parse(String source) {
+        ParsedDocument parsed = lastDocument;
+        if (parsed != null && parsed.source.equals(source)) {
+            return parsed.document;
+        }
+        DocumentContext document = JsonPath.parse(source);
+        lastDocument = new ParsedDocument(source, document);
+        return document;
+    }
+
+    private @Nullable Object readPath(DocumentContext document, String jsonPathExpression) {
+        // compiled paths are cached by the JsonPath CacheProvider
+        Object transformationResult = document.read(jsonPathExpression);
+        logger.debug("transformation resulted in '{}'", transformationResult);
+        return transformationResult;
+    }
+
+    private @Nullable String toResultString(@Nullable Object transformationResult) {
+        if (transformationResult == null) {
+            return null;
+        } else if (transformationResult instanceof List) {
+            return flattenList((List<?>) transformationResult);
+        } else {
+            return transformationResult.toString();
+        }
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
@@ -100,4 +125,14 @@ public class JSonPathTransformationService implements TransformationService {
     private String createStringList(List<?> list) {
         return list.stream().map(n -> "\"" + String.valueOf(n) + "\"").collect(Collectors.joining(", ", "[", "]"));
     }
+
+    private static class ParsedDocument {
+        private final String source;
+        private final DocumentContext document;
+
+        ParsedDocument(String source, DocumentContext document) {
+            this.source = source;
+            this.document = document;
+        }
+    }
 }
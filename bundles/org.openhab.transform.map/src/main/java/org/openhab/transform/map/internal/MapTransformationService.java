@@ -14,6 +14,9 @@ package org.openhab.transform.map.internal;
 
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 import org.eclipse.smarthome.core.transform.AbstractFileTransformationService;
@@ -27,11 +30,15 @@ import org.slf4j.LoggerFactory;
  * <p>
  * The implementation of {@link TransformationService} which simply maps strings to other strings
  *
+ * <p>
+ * Map files are loaded into an immutable map, so lookups do not need any locking. When a file changes, the next
+ * transformation loads it into a new map which then replaces the cached one.
+ *
  * @author Kai Kreuzer - Initial contribution and API
  * @author Gaël L'hopital - Make it localizable
  */
 @Component(immediate = true, service = TransformationService.class, property = { "smarthome.transform=MAP" })
-public class MapTransformationService extends AbstractFileTransformationService<Properties> {
+public class MapTransformationService extends AbstractFileTransformationService<Map<String, String>> {
 
     private final Logger logger = LoggerFactory.getLogger(MapTransformationService.class);
 
@@ -41,15 +48,15 @@ public class MapTransformationService extends AbstractFileTransformationService<
      * a file which is stored under the 'configurations/transform' folder. This file should be in property syntax, i.e.
      * simple lines with "key=value" pairs. To organize the various transformations one might use subfolders.
      *
-     * @param properties the list of properties which contains the key value pairs for the mapping.
+     * @param mapping the key value pairs for the mapping.
      * @param source the input to transform
      */
     @Override
-    protected String internalTransform(Properties properties, String source) throws TransformationException {
-        String target = properties.getProperty(source);
+    protected String internalTransform(Map<String, String> mapping, String source) throws TransformationException {
+        String target = mapping.get(source);
 
         if (target == null) {
-            target = properties.getProperty("");
+            target = mapping.get("");
             if (target == null) {
                 throw new TransformationException("Target value not found in map for '" + source + "'");
             }
@@ -60,11 +67,15 @@ public class MapTransformationService extends AbstractFileTransformationService<
     }
 
     @Override
-    protected Properties internalLoadTransform(String filename) throws TransformationException {
-        Properties result = new Properties();
+    protected Map<String, String> internalLoadTransform(String filename) throws TransformationException {
+        Properties properties = new Properties();
         try (FileReader reader = new FileReader(filename)) {
-            result.load(reader);
-            return result;
+            properties.load(reader);
+            Map<String, String> result = new HashMap<>((int) (properties.size() / 0.75f) + 1);
+            for (String key : properties.stringPropertyNames()) {
+                result.put(key, properties.getProperty(key));
+            }
+            return Collections.unmodifiableMap(result);
         } catch (IOException e) {
             throw new TransformationException("An error occurred while opening file.", e);
         }
@@ -75,4 +75,15 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testCompiledPatternsAreCached() throws TransformationException {
+        processor.transform("s/([A-Z]+)([0-9]+),*/var$1=$2 /g", "X12,Y54");
+        processor.transform("s/([A-Z]+)([0-9]+),*/var$1=$2 /g", "A1,B2");
+        processor.transform(".*?<current_conditions><condition data=\"(.*?)\"/>.*", source);
+        processor.transform(".*?<current_conditions><condition data=\"(.*?)\"/>.*", source);
+
+        assertEquals(2, processor.getCacheMisses());
+        assertEquals(2, processor.getCacheHits());
+    }
 }
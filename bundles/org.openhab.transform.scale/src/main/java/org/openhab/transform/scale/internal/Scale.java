@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * A scale as defined in a scale file, with an index over its ranges.
+ *
+ * <p>
+ * All range bounds split the number line into elementary segments: the bounds themselves and the open intervals
+ * between them. Each range either contains a segment completely or not at all, so the value of the first range in file
+ * order is precomputed for every segment when the scale is loaded. A lookup then only needs a binary search over the
+ * bounds.
+ *
+ * @author agent - Initial contribution
+ */
+public class Scale {
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    private final String format;
+    private final String nonNumeric;
+
+    /** The sorted, distinct bounds of all ranges */
+    private final BigDecimal[] bounds;
+
+    /**
+     * The value for each segment. Segment <code>2 * i + 1</code> is the bound <code>bounds[i]</code>, segment
+     * <code>2 * i</code> is the open interval below it and the last segment is the open interval above the last bound.
+     */
+    private final String[] values;
+
+    /**
+     * Creates a new scale.
+     *
+     * @param format the format of the result, containing the placeholders for the value and the label
+     * @param nonNumeric the label for non-numeric inputs or null
+     * @param ranges the ranges and their labels, in the order of the scale file
+     */
+    public Scale(final String format, final String nonNumeric, final Map<Range, String> ranges) {
+        this.format = format;
+        this.nonNumeric = nonNumeric;
+
+        final TreeSet<BigDecimal> sortedBounds = new TreeSet<>();
+        for (Range range : ranges.keySet()) {
+            if (range.min != null) {
+                sortedBounds.add(range.min);
+            }
+            if (range.max != null) {
+                sortedBounds.add(range.max);
+            }
+        }
+        bounds = sortedBounds.toArray(new BigDecimal[sortedBounds.size()]);
+
+        final List<Map.Entry<Range, String>> entries = new ArrayList<>(ranges.entrySet());
+        values = new String[2 * bounds.length + 1];
+        for (int segment = 0; segment < values.length; segment++) {
+            final BigDecimal representative = getRepresentative(segment);
+            for (Map.Entry<Range, String> entry : entries) {
+                if (entry.getKey().contains(representative)) {
+                    values[segment] = entry.getValue();
+                    break;
+                }
+            }
+        }
+    }
+
+    private BigDecimal getRepresentative(final int segment) {
+        if (bounds.length == 0) {
+            return BigDecimal.ZERO;
+        }
+        if (segment % 2 == 1) {
+            return bounds[segment / 2];
+        }
+        final int upper = segment / 2;
+        if (upper == 0) {
+            return bounds[0].subtract(BigDecimal.ONE);
+        }
+        if (upper == bounds.length) {
+            return bounds[bounds.length - 1].add(BigDecimal.ONE);
+        }
+        return bounds[upper - 1].add(bounds[upper]).divide(TWO);
+    }
+
+    /**
+     * Returns the label of the first range containing the given value.
+     *
+     * @param value the value to look up
+     * @return the label or null if no range contains the value
+     */
+    public String get(final BigDecimal value) {
+        final int index = Arrays.binarySearch(bounds, value);
+        return values[index >= 0 ? 2 * index + 1 : 2 * (-index - 1)];
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public String getNonNumeric() {
+        return nonNumeric;
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class ScaleTest {
+
+    private static BigDecimal dec(String value) {
+        return new BigDecimal(value);
+    }
+
+    @Test
+    public void testOverlappingRangesUseFileOrder() {
+        Map<Range, String> ranges = new LinkedHashMap<>();
+        ranges.put(Range.lessThan(dec("15")), "first");
+        ranges.put(Range.closedOpen(dec("10"), dec("17")), "second");
+        ranges.put(Range.atLeast(dec("15")), "last");
+        Scale scale = new Scale("%label%", null, ranges);
+
+        assertEquals("first", scale.get(dec("-100")));
+        assertEquals("first", scale.get(dec("12")));
+        assertEquals("second", scale.get(dec("15.0")));
+        assertEquals("second", scale.get(dec("16.99")));
+        assertEquals("last", scale.get(dec("17")));
+        assertEquals("last", scale.get(dec("1000")));
+    }
+
+    @Test
+    public void testBoundsAndGaps() {
+        Map<Range, String> ranges = new LinkedHashMap<>();
+        ranges.put(Range.open(dec("0"), dec("10")), "open");
+        ranges.put(Range.closed(dec("20"), dec("30")), "closed");
+        Scale scale = new Scale("%label%", null, ranges);
+
+        assertNull(scale.get(dec("0")));
+        assertEquals("open", scale.get(dec("0.001")));
+        assertNull(scale.get(dec("10")));
+        assertNull(scale.get(dec("15")));
+        assertEquals("closed", scale.get(dec("20")));
+        assertEquals("closed", scale.get(dec("30")));
+        assertNull(scale.get(dec("30.5")));
+    }
+
+    @Test
+    public void testCatchAll() {
+        Map<Range, String> ranges = new LinkedHashMap<>();
+        ranges.put(Range.all(), "all");
+        Scale scale = new Scale("%label%", "NaN", ranges);
+
+        assertEquals("all", scale.get(dec("-5")));
+        assertEquals("NaN", scale.getNonNumeric());
+    }
+
+    @Test
+    public void testManyRanges() {
+        Map<Range, String> ranges = new LinkedHashMap<>();
+        for (int i = 0; i < 500; i++) {
+            ranges.put(Range.closedOpen(BigDecimal.valueOf(i * 10), BigDecimal.valueOf((i + 1) * 10)), "band" + i);
+        }
+        Scale scale = new Scale("%label%", null, ranges);
+
+        assertEquals("band0", scale.get(dec("0")));
+        assertEquals("band123", scale.get(dec("1234.5")));
+        assertEquals("band499", scale.get(dec("4999.99")));
+        assertNull(scale.get(dec("5000")));
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xpath.internal;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Evaluates simple XPath location paths like <code>/a/b/c</code>, <code>//b/c</code> or <code>//b/c/@attr</code>
+ * with a StAX reader, so that the document does not have to be loaded into a DOM.
+ *
+ * <p>
+ * Only element names without namespace, the child and descendant axes and a trailing attribute step are supported.
+ * The result is the string value of the first matching node in document order, or an empty string if nothing
+ * matches. The document is only read up to the first match, so malformed XML after that point is not detected.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class StreamingXPathEvaluator {
+
+    private static final String NAME = "[A-Za-z_][\\w.\\-]*";
+    private static final Pattern SIMPLE_PATH_PATTERN = Pattern
+            .compile("^//?" + NAME + "(/" + NAME + ")*(/@" + NAME + ")?$");
+
+    private final XMLInputFactory inputFactory;
+
+    StreamingXPathEvaluator() {
+        inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+    /**
+     * Checks whether the given expression can be evaluated by this class.
+     *
+     * @param xpathExpression the XPath expression
+     * @return true if the expression is a simple location path
+     */
+    static boolean isSimplePath(String xpathExpression) {
+        return SIMPLE_PATH_PATTERN.matcher(xpathExpression).matches();
+    }
+
+    /**
+     * Evaluates a simple location path against the given XML document.
+     *
+     * @param xpathExpression a path for which {@link #isSimplePath(String)} returns true
+     * @param source the XML document
+     * @return the string value of the first matching node
+     * @throws XMLStreamException if the document cannot be read up to the first match
+     */
+    String evaluate(String xpathExpression, String source) throws XMLStreamException {
+        boolean descendant = xpathExpression.startsWith("//");
+        List<String> steps = new ArrayList<>(
+                Arrays.asList(xpathExpression.substring(descendant ? 2 : 1).split("/")));
+        String lastStep = steps.get(steps.size() - 1);
+        @Nullable
+        String attribute = null;
+        if (lastStep.startsWith("@")) {
+            attribute = lastStep.substring(1);
+            steps.remove(steps.size() - 1);
+        }
+
+        XMLStreamReader reader = inputFactory.createXMLStreamReader(new StringReader(source));
+        try {
+            return evaluate(reader, steps, descendant, attribute);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private String evaluate(XMLStreamReader reader, List<String> steps, boolean descendant,
+            @Nullable String attribute) throws XMLStreamException {
+        List<@Nullable String> elements = new ArrayList<>();
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String namespace = reader.getNamespaceURI();
+                // elements in a namespace are never matched by unprefixed names
+                elements.add(namespace == null || namespace.isEmpty() ? reader.getLocalName() : null);
+                if (matches(elements, steps, descendant)) {
+                    if (attribute == null) {
+                        return readStringValue(reader);
+                    }
+                    String value = getAttributeValue(reader, attribute);
+                    if (value != null) {
+                        return value;
+                    }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                elements.remove(elements.size() - 1);
+            }
+        }
+        return "";
+    }
+
+    private boolean matches(List<@Nullable String> elements, List<String> steps, boolean descendant) {
+        int offset = elements.size() - steps.size();
+        if (offset < 0 || (!descendant && offset != 0)) {
+            return false;
+        }
+        for (int i = 0; i < steps.size(); i++) {
+            if (!steps.get(i).equals(elements.get(offset + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private @Nullable String getAttributeValue(XMLStreamReader reader, String attribute) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String namespace = reader.getAttributeNamespace(i);
+            if ((namespace == null || namespace.isEmpty()) && attribute.equals(reader.getAttributeLocalName(i))) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    private String readStringValue(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder value = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    value.append(reader.getText());
+                    break;
+                default:
+                    break;
+            }
+        }
+        return value.toString();
+    }
+}
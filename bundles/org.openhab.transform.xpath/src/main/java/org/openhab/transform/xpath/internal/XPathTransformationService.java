@@ -13,19 +13,27 @@
 package org.openhab.transform.xpath.internal;
 
 import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -35,14 +43,49 @@ import org.xml.sax.InputSource;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XPath Expressions.
  *
+ * <p>
+ * Document builders and compiled expressions are not thread-safe, so they are kept in evaluation contexts which are
+ * borrowed from a pool for the duration of a single transformation.
+ *
  * @author Thomas.Eichstaedt-Engelen
  */
 @NonNullByDefault
-@Component(immediate = true, property = { "smarthome.transform=XPATH" })
+@Component(immediate = true, configurationPid = "org.openhab.xpath", property = { "smarthome.transform=XPATH" })
 public class XPathTransformationService implements TransformationService {
 
+    /**
+     * Configuration parameter to evaluate simple location paths with a streaming parser instead of a DOM
+     */
+    private static final String CONFIG_STREAMING = "streaming";
+
+    /**
+     * Maximum number of compiled expressions kept per evaluation context
+     */
+    private static final int MAX_CACHED_EXPRESSIONS = 64;
+
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
+    private final DocumentBuilderFactory domFactory;
+    private final XPathFactory xpathFactory;
+    private final Queue<EvaluationContext> contextPool = new ConcurrentLinkedQueue<>();
+    private final StreamingXPathEvaluator streamingEvaluator = new StreamingXPathEvaluator();
+
+    private volatile boolean streaming = false;
+
+    public XPathTransformationService() {
+        domFactory = DocumentBuilderFactory.newInstance();
+        domFactory.setNamespaceAware(true);
+        domFactory.setValidating(false);
+        xpathFactory = XPathFactory.newInstance();
+    }
+
+    @Activate
+    @Modified
+    protected void modified(@Nullable Map<String, Object> config) {
+        streaming = config != null && Boolean.parseBoolean(String.valueOf(config.get(CONFIG_STREAMING)));
+        logger.debug("Streaming evaluation of simple paths is {}", streaming ? "enabled" : "disabled");
+    }
+
     @Override
     public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
         if (xpathExpression == null || source == null) {
@@ -51,34 +94,74 @@ public class XPathTransformationService implements TransformationService {
 
         logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
 
-        StringReader stringReader = null;
-
         try {
-            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
-            domFactory.setNamespaceAware(true);
-            domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
+            String transformationResult;
+            if (streaming && StreamingXPathEvaluator.isSimplePath(xpathExpression)) {
+                transformationResult = streamingEvaluator.evaluate(xpathExpression, source);
+            } else {
+                transformationResult = evaluate(xpathExpression, source);
+            }
+
+            logger.debug("transformation resulted in '{}'", transformationResult);
 
-            stringReader = new StringReader(source);
+            return transformationResult;
+        } catch (Exception e) {
+            throw new TransformationException("transformation throws exceptions", e);
+        }
+    }
+
+    private String evaluate(String xpathExpression, String source) throws Exception {
+        EvaluationContext context = contextPool.poll();
+        if (context == null) {
+            context = new EvaluationContext();
+        }
+
+        try (StringReader stringReader = new StringReader(source)) {
             InputSource inputSource = new InputSource(stringReader);
             inputSource.setEncoding("UTF-8");
 
-            Document doc = builder.parse(inputSource);
+            XPathExpression expr = context.getExpression(xpathExpression);
+            Document doc = context.builder.parse(inputSource);
 
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
+            return (String) expr.evaluate(doc, XPathConstants.STRING);
+        } finally {
+            context.builder.reset();
+            contextPool.offer(context);
+        }
+    }
 
-            String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+    /**
+     * The non thread-safe parts of an evaluation, only ever used by one thread at a time.
+     */
+    private class EvaluationContext {
+        private final DocumentBuilder builder;
+        private final XPath xpath;
+        private final Map<String, XPathExpression> expressions = new LinkedHashMap<String, XPathExpression>(16, 0.75f,
+                true) {
+            private static final long serialVersionUID = 1L;
 
-            logger.debug("transformation resulted in '{}'", transformationResult);
+            @Override
+            protected boolean removeEldestEntry(Map.@Nullable Entry<String, XPathExpression> eldest) {
+                return size() > MAX_CACHED_EXPRESSIONS;
+            }
+        };
 
-            return transformationResult;
-        } catch (Exception e) {
-            throw new TransformationException("transformation throws exceptions", e);
-        } finally {
-            if (stringReader != null) {
-                stringReader.close();
+        EvaluationContext() throws ParserConfigurationException {
+            synchronized (domFactory) {
+                builder = domFactory.newDocumentBuilder();
+            }
+            synchronized (xpathFactory) {
+                xpath = xpathFactory.newXPath();
+            }
+        }
+
+        XPathExpression getExpression(String xpathExpression) throws XPathExpressionException {
+            XPathExpression expr = expressions.get(xpathExpression);
+            if (expr == null) {
+                expr = xpath.compile(xpathExpression);
+                expressions.put(xpathExpression, expr);
             }
+            return expr;
         }
     }
 }
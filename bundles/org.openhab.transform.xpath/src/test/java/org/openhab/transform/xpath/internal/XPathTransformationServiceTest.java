@@ -14,6 +14,8 @@ package org.openhab.transform.xpath.internal;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.Collections;
+
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.junit.Before;
 import org.junit.Test;
@@ -38,4 +40,23 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformByCachedXPath() throws TransformationException {
+        assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+        assertEquals("46", processor.transform("//current_conditions/temp_f/@data", source));
+        assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+    }
+
+    @Test
+    public void testTransformByStreamingXPath() throws TransformationException {
+        processor.modified(Collections.singletonMap("streaming", "true"));
+
+        assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+        assertEquals("Krefeld Germany",
+                processor.transform("/xml_api_reply/weather/forecast_information/postal_code/@data", source));
+        assertEquals("", processor.transform("/weather/forecast_information/postal_code/@data", source));
+        assertEquals("450", processor.transform("/PTZStatus/AbsoluteHigh/azimuth",
+                "<PTZStatus><AbsoluteHigh><elevation>0</elevation><azimuth>450</azimuth></AbsoluteHigh></PTZStatus>"));
+    }
 }
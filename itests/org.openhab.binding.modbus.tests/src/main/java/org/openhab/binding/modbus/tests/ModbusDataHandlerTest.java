@@ -18,6 +18,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal.*;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -794,6 +795,107 @@ public class ModbusDataHandlerTest extends AbstractModbusOSGiTest {
         waitForAssert(() -> verify((ModbusPollerThingHandler) poller.getHandler()).refresh(), 2500, 50);
     }
 
+    @SuppressWarnings({ "null" })
+    private ModbusDataThingHandler createUnchangedValuesHandler(ModbusReadRequestBlueprint request,
+            long updateUnchangedValuesEveryMillis, boolean autoCreateItemsAndLinkToChannels) {
+        ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("thisishost", 502);
+
+        int pollLength = 3;
+
+        // Minimally mocked request
+        doReturn(pollLength).when(request).getDataLength();
+        doReturn(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS).when(request).getFunctionCode();
+
+        PollTask task = Mockito.mock(PollTask.class);
+        doReturn(endpoint).when(task).getEndpoint();
+        doReturn(request).when(task).getRequest();
+
+        Bridge poller = createPollerMock("poller1", task);
+
+        Configuration dataConfig = new Configuration();
+        dataConfig.put("readStart", "0");
+        dataConfig.put("readTransform", "default");
+        dataConfig.put("readValueType", "int16");
+        dataConfig.put("updateUnchangedValuesEveryMillis", new BigDecimal(updateUnchangedValuesEveryMillis));
+
+        ModbusDataThingHandler dataHandler = createDataHandler("read1", poller,
+                builder -> builder.withConfiguration(dataConfig), null, autoCreateItemsAndLinkToChannels);
+        assertThat(dataHandler.getThing().getStatus(), is(equalTo(ThingStatus.ONLINE)));
+        return dataHandler;
+    }
+
+    private void assertStateUpdateCount(ModbusDataThingHandler handler, String channel, int expectedCount) {
+        String itemName = getItemName(new ChannelUID(handler.getThing().getUID(), channel));
+        waitForAssert(() -> {
+            List<State> updates = getStateUpdates(itemName);
+            assertThat(updates == null ? 0 : updates.size(), is(equalTo(expectedCount)));
+        });
+    }
+
+    @Test
+    public void testOnRegistersUnchangedValueSkipsChannelUpdates() {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusDataThingHandler dataHandler = createUnchangedValuesHandler(request, 60_000L, true);
+        ModbusRegisterArray registers = new BasicModbusRegisterArray(
+                new ModbusRegister[] { new BasicModbusRegister((byte) 0, (byte) 5) });
+
+        dataHandler.onRegisters(request, registers);
+        assertSingleStateUpdate(dataHandler, CHANNEL_NUMBER, new DecimalType(5));
+        assertStateUpdateCount(dataHandler, CHANNEL_LAST_READ_SUCCESS, 1);
+
+        // Same data again: only the last read success is updated
+        dataHandler.onRegisters(request, registers);
+        assertStateUpdateCount(dataHandler, CHANNEL_LAST_READ_SUCCESS, 2);
+        assertSingleStateUpdate(dataHandler, CHANNEL_NUMBER, new DecimalType(5));
+        assertThat(dataHandler.getThing().getStatus(), is(equalTo(ThingStatus.ONLINE)));
+
+        // Changed data is processed right away
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(
+                new ModbusRegister[] { new BasicModbusRegister((byte) 0, (byte) 6) }));
+        assertStateUpdateCount(dataHandler, CHANNEL_NUMBER, 2);
+    }
+
+    @Test
+    public void testOnRegistersUnchangedValueUpdatedAfterInterval() throws InterruptedException {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusDataThingHandler dataHandler = createUnchangedValuesHandler(request, 100L, true);
+        ModbusRegisterArray registers = new BasicModbusRegisterArray(
+                new ModbusRegister[] { new BasicModbusRegister((byte) 0, (byte) 5) });
+
+        dataHandler.onRegisters(request, registers);
+        assertSingleStateUpdate(dataHandler, CHANNEL_NUMBER, new DecimalType(5));
+
+        // Once the interval has passed, the unchanged value is updated again
+        Thread.sleep(200);
+        dataHandler.onRegisters(request, registers);
+        assertStateUpdateCount(dataHandler, CHANNEL_NUMBER, 2);
+        assertThat(getStateUpdates(getItemName(new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_NUMBER)))
+                .get(1), is(equalTo(new DecimalType(5))));
+    }
+
+    @Test
+    public void testChannelLinkedUpdatesUnchangedValue() {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusDataThingHandler dataHandler = createUnchangedValuesHandler(request, 60_000L, false);
+        ModbusRegisterArray registers = new BasicModbusRegisterArray(
+                new ModbusRegister[] { new BasicModbusRegister((byte) 0, (byte) 5) });
+
+        // Nothing is linked, the value is remembered without updating any channel
+        dataHandler.onRegisters(request, registers);
+
+        ChannelUID numberUID = new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_NUMBER);
+        String itemName = getItemName(numberUID);
+        addItem(coreItemFactory.createItem("Number", itemName));
+        linkItem(itemName, numberUID);
+
+        // The newly linked channel receives the unchanged value with the next poll
+        waitForAssert(() -> {
+            dataHandler.onRegisters(request, registers);
+            assertThat(getStateUpdates(itemName), is(notNullValue()));
+        });
+        assertSingleStateUpdate(dataHandler, CHANNEL_NUMBER, new DecimalType(5));
+    }
+
     /**
      *
      * @param pollerFunctionCode poller function code. Use null if you want to have data thing direct child of endpoint